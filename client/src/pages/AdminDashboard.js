@@ -1,12 +1,19 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 import { useNavigate } from 'react-router-dom';
+import { fetchPage } from '../services/api';
 import { FaUserTie, FaUser, FaTrash, FaExclamationTriangle, FaChartLine, FaUsers, FaShieldAlt } from 'react-icons/fa';
 
 const AdminDashboard = () => {
     const [freelancers, setFreelancers] = useState([]);
     const [clients, setClients] = useState([]);
+    // Ids to pass as afterId for the next page of each list; null once the list is complete
+    const [freelancersCursor, setFreelancersCursor] = useState(null);
+    const [clientsCursor, setClientsCursor] = useState(null);
+    const [totalUsers, setTotalUsers] = useState(0);
     const [fraudReports, setFraudReports] = useState([]);
+    // Id to pass as beforeId for the next (older) page of reports; null once all are loaded
+    const [fraudReportsCursor, setFraudReportsCursor] = useState(null);
     const [error, setError] = useState(null);
     const navigate = useNavigate();
 
@@ -19,17 +26,21 @@ const AdminDashboard = () => {
 
         const fetchData = async () => {
             try {
-                // Fetch freelancers
-                const freelancersResponse = await axios.get('http://localhost:8081/api/admin/freelancers', {
-                    headers: { Authorization: `Bearer ${token}` },
-                });
-                setFreelancers(freelancersResponse.data);
+                // First page of freelancers and clients; more load on demand
+                const freelancersPage = await fetchPage('http://localhost:8081/api/admin/freelancers', token);
+                setFreelancers(freelancersPage.items);
+                setFreelancersCursor(freelancersPage.nextCursor);
 
-                // Fetch clients
-                const clientsResponse = await axios.get('http://localhost:8081/api/admin/clients', {
+                const clientsPage = await fetchPage('http://localhost:8081/api/admin/clients', token);
+                setClients(clientsPage.items);
+                setClientsCursor(clientsPage.nextCursor);
+
+                // User total from the server's in-memory counters
+                const analyticsResponse = await axios.get('http://localhost:8081/api/admin/analytics', {
                     headers: { Authorization: `Bearer ${token}` },
+                    params: { topSkills: 0 },
                 });
-                setClients(clientsResponse.data);
+                setTotalUsers(analyticsResponse.data.totalUsers);
 
                 // Fetch fraud reports separately
                 try {
@@ -37,6 +48,7 @@ const AdminDashboard = () => {
                         headers: { Authorization: `Bearer ${token}` },
                     });
                     setFraudReports(fraudReportsResponse.data);
+                    setFraudReportsCursor(fraudReportsResponse.headers['x-next-cursor'] || null);
                 } catch (fraudErr) {
                     console.error('Error fetching fraud reports:', fraudErr.response?.data || fraudErr.message);
                     setError(`Error fetching fraud reports: ${fraudErr.response?.data?.error || fraudErr.message}`);
@@ -53,17 +65,52 @@ const AdminDashboard = () => {
         fetchData();
     }, [navigate]);
 
+    const loadMoreFraudReports = async () => {
+        const token = localStorage.getItem('adminToken');
+        try {
+            const response = await axios.get('http://localhost:8081/api/fraud/reports', {
+                headers: { Authorization: `Bearer ${token}` },
+                params: { beforeId: fraudReportsCursor },
+            });
+            setFraudReports([...fraudReports, ...response.data]);
+            setFraudReportsCursor(response.headers['x-next-cursor'] || null);
+        } catch (err) {
+            setError(`Error fetching fraud reports: ${err.response?.data?.error || err.message}`);
+        }
+    };
+
+    const loadMoreFreelancers = async () => {
+        const token = localStorage.getItem('adminToken');
+        try {
+            const page = await fetchPage('http://localhost:8081/api/admin/freelancers', token, { afterId: freelancersCursor });
+            setFreelancers([...freelancers, ...page.items]);
+            setFreelancersCursor(page.nextCursor);
+        } catch (err) {
+            setError(`Error fetching freelancers: ${err.response?.data?.error || err.message}`);
+        }
+    };
+
+    const loadMoreClients = async () => {
+        const token = localStorage.getItem('adminToken');
+        try {
+            const page = await fetchPage('http://localhost:8081/api/admin/clients', token, { afterId: clientsCursor });
+            setClients([...clients, ...page.items]);
+            setClientsCursor(page.nextCursor);
+        } catch (err) {
+            setError(`Error fetching clients: ${err.response?.data?.error || err.message}`);
+        }
+    };
+
+    // The user may be on a page that isn't loaded yet, so both lists are filtered
     const handleDelete = async (id, type) => {
         const token = localStorage.getItem('adminToken');
         try {
             await axios.delete(`http://localhost:8081/api/admin/delete/${id}`, {
                 headers: { Authorization: `Bearer ${token}` },
             });
-            if (type === 'freelancer') {
-                setFreelancers(freelancers.filter((f) => f.id !== id));
-            } else {
-                setClients(clients.filter((c) => c.id !== id));
-            }
+            setFreelancers(freelancers.filter((f) => f.id !== id));
+            setClients(clients.filter((c) => c.id !== id));
+            setTotalUsers(total => Math.max(0, total - 1));
             setError(null);
         } catch (err) {
             setError(`Error deleting ${type}: ${err.response?.data?.error || err.message}`);
@@ -120,7 +167,7 @@ const AdminDashboard = () => {
                             backdropFilter: 'blur(10px)'
                         }}>
                             <FaUsers style={{ fontSize: '2rem', marginBottom: '0.5rem' }} />
-                            <div style={{ fontSize: '1.5rem', fontWeight: '600' }}>{freelancers.length + clients.length}</div>
+                            <div style={{ fontSize: '1.5rem', fontWeight: '600' }}>{totalUsers}</div>
                             <div style={{ fontSize: '0.875rem', opacity: '0.9' }}>Total Users</div>
                         </div>
                         <div style={{
@@ -131,7 +178,7 @@ const AdminDashboard = () => {
                             backdropFilter: 'blur(10px)'
                         }}>
                             <FaChartLine style={{ fontSize: '2rem', marginBottom: '0.5rem' }} />
-                            <div style={{ fontSize: '1.5rem', fontWeight: '600' }}>{fraudReports.length}</div>
+                            <div style={{ fontSize: '1.5rem', fontWeight: '600' }}>{fraudReports.length}{fraudReportsCursor ? '+' : ''}</div>
                             <div style={{ fontSize: '0.875rem', opacity: '0.9' }}>Active Reports</div>
                         </div>
                     </div>
@@ -293,6 +340,25 @@ const AdminDashboard = () => {
                                         ))}
                                     </tbody>
                                 </table>
+                                {freelancersCursor && (
+                                    <button
+                                        onClick={loadMoreFreelancers}
+                                        style={{
+                                            margin: '1rem auto 0',
+                                            display: 'block',
+                                            backgroundColor: '#f1f5f9',
+                                            color: '#1e293b',
+                                            border: '1px solid #cbd5e1',
+                                            padding: '0.5rem 1rem',
+                                            borderRadius: '0.5rem',
+                                            cursor: 'pointer',
+                                            fontSize: '0.875rem',
+                                            fontWeight: '500'
+                                        }}
+                                    >
+                                        Load more freelancers
+                                    </button>
+                                )}
                             </div>
                         )}
                     </div>
@@ -453,6 +519,25 @@ const AdminDashboard = () => {
                                         ))}
                                     </tbody>
                                 </table>
+                                {clientsCursor && (
+                                    <button
+                                        onClick={loadMoreClients}
+                                        style={{
+                                            margin: '1rem auto 0',
+                                            display: 'block',
+                                            backgroundColor: '#f1f5f9',
+                                            color: '#1e293b',
+                                            border: '1px solid #cbd5e1',
+                                            padding: '0.5rem 1rem',
+                                            borderRadius: '0.5rem',
+                                            cursor: 'pointer',
+                                            fontSize: '0.875rem',
+                                            fontWeight: '500'
+                                        }}
+                                    >
+                                        Load more clients
+                                    </button>
+                                )}
                             </div>
                         )}
                     </div>
@@ -587,7 +672,7 @@ const AdminDashboard = () => {
                                                 borderBottom: '1px solid #e2e8f0'
                                             }}>
                                                 <button
-                                                    onClick={() => handleDelete(report.reportedUserId, freelancers.some(f => f.id === report.reportedUserId) ? 'freelancer' : 'client')}
+                                                    onClick={() => handleDelete(report.reportedUserId, 'user')}
                                                     style={{
                                                         backgroundColor: '#ef4444',
                                                         color: 'white',
@@ -614,6 +699,25 @@ const AdminDashboard = () => {
                                     ))}
                                 </tbody>
                             </table>
+                            {fraudReportsCursor && (
+                                <button
+                                    onClick={loadMoreFraudReports}
+                                    style={{
+                                        margin: '1rem auto 0',
+                                        display: 'block',
+                                        backgroundColor: '#f1f5f9',
+                                        color: '#1e293b',
+                                        border: '1px solid #cbd5e1',
+                                        padding: '0.5rem 1rem',
+                                        borderRadius: '0.5rem',
+                                        cursor: 'pointer',
+                                        fontSize: '0.875rem',
+                                        fontWeight: '500'
+                                    }}
+                                >
+                                    Load older reports
+                                </button>
+                            )}
                         </div>
                     )}
                 </div>
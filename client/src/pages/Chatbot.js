@@ -1,5 +1,4 @@
 import React, { useState, useRef, useEffect } from 'react';
-import axios from 'axios';
 import { FaRobot, FaTimes, FaPaperPlane, FaComments } from 'react-icons/fa';
 
 const Chatbot = () => {
@@ -33,16 +32,53 @@ const Chatbot = () => {
     setLoading(true);
 
     try {
-      const res = await axios.post(
-        'http://localhost:8081/api/chatbot/text',
-        query,
-        {
-          headers: {
-            'Content-Type': 'application/json',
-          },
+      // Streamed answer: append each token to the last bot message as it arrives
+      // The session header lets the server keep the earlier turns of this chat as context
+      const sessionId = sessionStorage.getItem('chatSessionId');
+      const res = await fetch('http://localhost:8081/api/chatbot/text/stream', {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+          ...(sessionId ? { 'X-Chat-Session': sessionId } : {}),
+        },
+        body: query,
+      });
+      if (!res.ok || !res.body) {
+        throw new Error(`HTTP ${res.status}`);
+      }
+      const returnedSessionId = res.headers.get('X-Chat-Session');
+      if (returnedSessionId) {
+        sessionStorage.setItem('chatSessionId', returnedSessionId);
+      }
+      setMessages(prev => [...prev, { type: 'bot', text: '' }]);
+      setLoading(false);
+      const appendText = (text) => setMessages(prev => {
+        const last = prev[prev.length - 1];
+        return [...prev.slice(0, -1), { ...last, text: last.text + text }];
+      });
+
+      const reader = res.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true });
+        const events = buffer.split(/\r?\n\r?\n/);
+        buffer = events.pop();
+        for (const event of events) {
+          const name = (event.match(/^event:(.*)$/m) || [])[1]?.trim();
+          const data = event.split(/\r?\n/)
+            .filter(line => line.startsWith('data:'))
+            .map(line => line.slice(5))
+            .join('\n');
+          if (!data) continue;
+          const { text } = JSON.parse(data);
+          if (name === 'token' || name === 'error') {
+            appendText(text);
+          }
         }
-      );
-      setMessages(prev => [...prev, { type: 'bot', text: res.data }]);
+      }
     } catch (error) {
       console.error('Error:', error);
       setMessages(prev => [...prev, { type: 'bot', text: 'Error processing your request.' }]);
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
+import { applyJobEvent, subscribeToJobEvents } from '../services/api';
 import { FaUser, FaBriefcase, FaDollarSign, FaCheckCircle, FaSpinner, FaPlus, FaExclamationTriangle, FaClock, FaUserTie, FaTrash, FaUsers, FaPlay, FaBook, FaHandshake, FaChartLine } from 'react-icons/fa';
 import ProjectRequest from './ProjectRequest';
 import RazorpayPayment from './RazorpayPayment';
@@ -10,7 +11,8 @@ const ClientDashboard = () => {
     const [activities, setActivities] = useState([]);
     const [showProjectForm, setShowProjectForm] = useState(false);
     const [freelancerResponse, setFreelancerResponse] = useState(null);
-    const [availableFreelancers, setAvailableFreelancers] = useState([]);
+    // Names of the freelancers on this client's jobs, by id
+    const [freelancerNames, setFreelancerNames] = useState({});
     const [error, setError] = useState(null);
 
     useEffect(() => {
@@ -26,45 +28,79 @@ const ClientDashboard = () => {
                     headers: { Authorization: `Bearer ${token}` }
                 });
                 setProjects(jobsResponse.data);
+            } catch (err) {
+                setError(`Error fetching data: ${err.response?.data?.error || err.message}`);
+            }
+        };
 
-                const freelancersResponse = await axios.get('http://localhost:8081/api/users/freelancers', {
+        // From the server's counters; not refreshed on job events
+        const fetchFreelancerCount = async () => {
+            try {
+                const countResponse = await axios.get('http://localhost:8081/api/users/freelancers/count', {
                     headers: { Authorization: `Bearer ${token}` }
                 });
-                setAvailableFreelancers(freelancersResponse.data);
-
-                const totalSpent = jobsResponse.data
-                    .filter(job => job.paid)
-                    .reduce((sum, job) => sum + (job.price || 0), 0);
-                const activeProjects = jobsResponse.data.filter(job => job.status === 'ACTIVE').length;
-                const completedProjects = jobsResponse.data.filter(job => job.status === 'COMPLETED').length;
-                setStats({
-                    totalSpent,
-                    activeProjects,
-                    totalFreelancers: freelancersResponse.data.length,
-                    completedProjects
-                });
-
-                const pricedJob = jobsResponse.data.find(job => job.status === 'PENDING' && job.price && !job.paid);
-                if (pricedJob && (!freelancerResponse || freelancerResponse.projectId !== pricedJob.id)) {
-                    setFreelancerResponse({ projectId: pricedJob.id, price: pricedJob.price });
-                }
+                setStats(prev => ({ ...prev, totalFreelancers: countResponse.data.count }));
             } catch (err) {
                 setError(`Error fetching data: ${err.response?.data?.error || err.message}`);
             }
         };
 
+        fetchFreelancerCount();
         fetchData();
-        const interval = setInterval(fetchData, 5000);
-        return () => clearInterval(interval);
+        // Events only reach this client for its own jobs, so every one is patched in place
+        return subscribeToJobEvents(token, {
+            onJob: (event) => setProjects(prev => applyJobEvent(prev, event, () => true)),
+            onResync: fetchData,
+        });
     }, []);
 
-    const handleProjectSubmit = async (newProject) => {
+    // Stats and the pending price offer follow the job list, however it was updated
+    useEffect(() => {
+        const totalSpent = projects
+            .filter(job => job.paid)
+            .reduce((sum, job) => sum + (job.price || 0), 0);
+        const activeProjects = projects.filter(job => job.status === 'ACTIVE').length;
+        const completedProjects = projects.filter(job => job.status === 'COMPLETED').length;
+        setStats(prev => ({ ...prev, totalSpent, activeProjects, completedProjects }));
+
+        const pricedJob = projects.find(job => job.status === 'PENDING' && job.price && !job.paid);
+        if (pricedJob) {
+            setFreelancerResponse(prev => (prev && prev.projectId === pricedJob.id
+                ? prev
+                : { projectId: pricedJob.id, price: pricedJob.price }));
+        }
+    }, [projects]);
+
+    // Looks up names only for freelancers not seen yet; ids without a card are stored as
+    // null so they aren't requested again
+    useEffect(() => {
+        const missing = [...new Set(projects.map(job => job.freelancerId))]
+            .filter(id => id && !(id in freelancerNames));
+        if (missing.length === 0) {
+            return;
+        }
+        axios.get('http://localhost:8081/api/users/cards', {
+            headers: { Authorization: `Bearer ${localStorage.getItem('clientToken')}` },
+            params: { ids: missing.join(',') }
+        }).then(cardsResponse => {
+            const found = Object.fromEntries(cardsResponse.data.map(card => [card.id, card.name]));
+            setFreelancerNames(prev => ({
+                ...prev,
+                ...Object.fromEntries(missing.map(id => [id, found[id] ?? null]))
+            }));
+        }).catch(err => {
+            setError(`Error fetching freelancer names: ${err.response?.data?.error || err.message}`);
+        });
+    }, [projects, freelancerNames]);
+
+    const handleProjectSubmit = async (newProject, freelancer) => {
         const token = localStorage.getItem('clientToken');
         try {
             const response = await axios.post('http://localhost:8081/api/jobs', newProject, {
                 headers: { Authorization: `Bearer ${token}` }
             });
             setProjects([...projects, response.data]);
+            setFreelancerNames(prev => ({ ...prev, [freelancer.id]: freelancer.name }));
             setShowProjectForm(false);
             setActivities(prev => [{
                 id: Date.now(),
@@ -355,7 +391,7 @@ const ClientDashboard = () => {
                         boxShadow: '0 4px 6px -1px rgba(0, 0, 0, 0.1), 0 2px 4px -1px rgba(0, 0, 0, 0.06)',
                         marginBottom: '2rem'
                     }}>
-                        <ProjectRequest onProjectSubmit={handleProjectSubmit} availableFreelancers={availableFreelancers} />
+                        <ProjectRequest onProjectSubmit={handleProjectSubmit} />
                     </div>
                 )}
 
@@ -444,7 +480,7 @@ const ClientDashboard = () => {
                                 <div style={{ marginBottom: '0.75rem' }}>
                                     <span style={{ color: '#64748b', fontWeight: '500' }}>Freelancer:</span>
                                     <span style={{ color: '#1e293b', marginLeft: '0.5rem' }}>
-                                        {availableFreelancers.find(f => f.id === job.freelancerId)?.name || 'Not assigned'}
+                                        {freelancerNames[job.freelancerId] || 'Not assigned'}
                                     </span>
                                 </div>
                                 <div style={{ marginBottom: '0.75rem' }}>
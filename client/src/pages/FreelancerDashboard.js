@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useLocation, useNavigate } from 'react-router-dom';
 import axios from 'axios';
+import { applyJobEvent, subscribeToJobEvents } from '../services/api';
 import { 
   FaUser, FaBriefcase, FaDollarSign, FaCheckCircle, 
   FaSpinner, FaPlus, FaExclamationTriangle, FaClock, 
@@ -79,9 +80,7 @@ const FreelancerDashboard = () => {
                   `http://localhost:8081/api/jobs/freelancer/${freelancerId}`, 
                   { headers: { Authorization: `Bearer ${token}` } }
                 );
-                const jobs = response.data;
-                setProjects(jobs);
-                updateStats(jobs);
+                setProjects(response.data);
             } catch (err) {
                 console.error('Error fetching projects:', err);
                 if (err.response?.status === 401) {
@@ -99,11 +98,18 @@ const FreelancerDashboard = () => {
         };
 
         fetchProjects();
-        const interval = setInterval(fetchProjects, 30000);
-        
-        return () => clearInterval(interval);
+        // Patch each changed job in place; a job released or reassigned away leaves the list
+        return subscribeToJobEvents(token, {
+            onJob: (event) => setProjects(prev => applyJobEvent(prev, event,
+                job => String(job.freelancerId) === String(freelancerId))),
+            onResync: fetchProjects,
+        });
     }, [freelancerId, navigate]);
 
+    useEffect(() => {
+        updateStats(projects);
+    }, [projects]);
+
     const updateStats = (jobs) => {
     const active = jobs.filter(job => job.status === 'ACTIVE' || job.status === 'ACCEPTED').length;
     const completed = jobs.filter(job => job.status === 'COMPLETED').length;
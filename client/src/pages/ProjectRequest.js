@@ -1,6 +1,7 @@
 // ProjectRequest.js
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import styled from 'styled-components';
+import { fetchPage } from '../services/api';
 
 
 const FormContainer = styled.div`
@@ -105,12 +106,46 @@ const SubmitButton = styled.button`
   }
 `;
 
-const ProjectRequest = ({ onProjectSubmit, availableFreelancers }) => {
+const FREELANCERS_URL = 'http://localhost:8081/api/users/freelancers';
+const PICKER_PAGE_SIZE = 30;
+
+const ProjectRequest = ({ onProjectSubmit }) => {
     const [title, setTitle] = useState('');
     const [description, setDescription] = useState('');
     const [estimatedTime, setEstimatedTime] = useState('');
-    const [freelancerId, setFreelancerId] = useState('');
+    const [selectedFreelancer, setSelectedFreelancer] = useState(null);
     const [isSubmitting, setIsSubmitting] = useState(false);
+    // The picker shows one page of freelancers matching the search; "Load more" appends the next
+    const [search, setSearch] = useState('');
+    const [freelancers, setFreelancers] = useState([]);
+    const [freelancersCursor, setFreelancersCursor] = useState(null);
+    const freelancerId = selectedFreelancer ? selectedFreelancer.id : '';
+
+    useEffect(() => {
+        const token = localStorage.getItem('clientToken');
+        // Debounced so typing a name issues one query, not one per keystroke
+        const timer = setTimeout(async () => {
+            try {
+                const page = await fetchPage(FREELANCERS_URL, token, { q: search || undefined, limit: PICKER_PAGE_SIZE });
+                setFreelancers(page.items);
+                setFreelancersCursor(page.nextCursor);
+            } catch (error) {
+                console.error('Error fetching freelancers:', error);
+            }
+        }, 300);
+        return () => clearTimeout(timer);
+    }, [search]);
+
+    const loadMoreFreelancers = async () => {
+        const token = localStorage.getItem('clientToken');
+        try {
+            const page = await fetchPage(FREELANCERS_URL, token, { q: search || undefined, afterId: freelancersCursor, limit: PICKER_PAGE_SIZE });
+            setFreelancers([...freelancers, ...page.items]);
+            setFreelancersCursor(page.nextCursor);
+        } catch (error) {
+            console.error('Error fetching freelancers:', error);
+        }
+    };
 
     const handleSubmit = async (e) => {
         e.preventDefault();
@@ -122,11 +157,11 @@ const ProjectRequest = ({ onProjectSubmit, availableFreelancers }) => {
         setIsSubmitting(true);
         try {
             const newProject = { title, description, estimatedTime, freelancerId: parseInt(freelancerId) };
-            await onProjectSubmit(newProject);
+            await onProjectSubmit(newProject, selectedFreelancer);
             setTitle('');
             setDescription('');
             setEstimatedTime('');
-            setFreelancerId('');
+            setSelectedFreelancer(null);
         } catch (error) {
             console.error('Error submitting project:', error);
         } finally {
@@ -181,6 +216,12 @@ const ProjectRequest = ({ onProjectSubmit, availableFreelancers }) => {
                   >
                     Select Freelancer
                   </p>
+                  <Input
+                    type="text"
+                    value={search}
+                    onChange={(e) => setSearch(e.target.value)}
+                    placeholder="Search freelancers by name or email"
+                  />
 
                   {/* Cards container */}
                   <div
@@ -196,13 +237,13 @@ const ProjectRequest = ({ onProjectSubmit, availableFreelancers }) => {
                       padding: '1rem'
                     }}
                   >
-                    {availableFreelancers.map((freelancer) => {
+                    {freelancers.map((freelancer) => {
                       const isSelected = freelancerId === freelancer.id;
 
                       return (
                         <div
                           key={freelancer.id}
-                          onClick={() => setFreelancerId(freelancer.id)}
+                          onClick={() => setSelectedFreelancer(freelancer)}
                           style={{
                             width: 'calc(33.333% - 1rem)', // Force 3 cards per row
                             minWidth: '280px',
@@ -248,6 +289,24 @@ const ProjectRequest = ({ onProjectSubmit, availableFreelancers }) => {
                       );
                     })}
                   </div>
+                  {freelancersCursor && (
+                    <button
+                      type="button"
+                      onClick={loadMoreFreelancers}
+                      style={{
+                        marginTop: '1rem',
+                        backgroundColor: '#f0f9ff',
+                        color: '#3498db',
+                        border: '1px solid #3498db',
+                        padding: '0.5rem 1rem',
+                        borderRadius: '0.5rem',
+                        cursor: 'pointer',
+                        fontSize: '0.95rem'
+                      }}
+                    >
+                      Load more freelancers
+                    </button>
+                  )}
 
                   {/* Text below the cards, conditional rendering */}
                   {freelancerId && (
@@ -261,7 +320,7 @@ const ProjectRequest = ({ onProjectSubmit, availableFreelancers }) => {
                         textAlign: 'center'
                       }}
                     >
-                      Selected Freelancer ID: {freelancerId}
+                      Selected Freelancer: {selectedFreelancer.name} (ID {freelancerId})
                     </p>
                   )}
                 </div>
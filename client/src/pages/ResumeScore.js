@@ -26,7 +26,7 @@ const ResumeScore = () => {
         formData.append("job_description", jobDescription);
 
         try {
-            const response = await fetch("http://localhost:8000/process", {
+            const response = await fetch("http://localhost:8081/api/resume/score", {
                 method: "POST",
                 body: formData,
             });
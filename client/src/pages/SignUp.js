@@ -39,26 +39,31 @@ const SignUp = () => {
         try {
             const response = await registerFreelancer(file);
             setUserId(response.data.id);
-            const quizData = await getQuiz(response.data.id);
-            let rawQuizData = quizData.data;
-            let cleanJson = typeof rawQuizData === 'string' ? rawQuizData : JSON.stringify(rawQuizData);
-            if (cleanJson.startsWith("```json")) {
-                cleanJson = cleanJson.replace("```json", "").replace("```", "").trim();
-                const lastBrace = cleanJson.lastIndexOf("}");
-                if (lastBrace > 0) cleanJson = cleanJson.substring(0, lastBrace + 1);
-            }
-            let parsedQuiz = JSON.parse(cleanJson);
-            if (!parsedQuiz.questions || !Array.isArray(parsedQuiz.questions) || parsedQuiz.questions.length !== 5) {
-                throw new Error('Invalid quiz format: Expected 5 questions');
-            }
-            setQuiz(parsedQuiz);
-            setAnswers({});
+            await loadQuiz(response.data.id);
             setError(null);
         } catch (err) {
             setError(`Error registering freelancer: ${err.response?.data?.message || err.message}`);
         }
     };
 
+    // Each quiz can be submitted once, so every attempt starts with a freshly issued one
+    const loadQuiz = async (id) => {
+        const quizData = await getQuiz(id);
+        let rawQuizData = quizData.data;
+        let cleanJson = typeof rawQuizData === 'string' ? rawQuizData : JSON.stringify(rawQuizData);
+        if (cleanJson.startsWith("```json")) {
+            cleanJson = cleanJson.replace("```json", "").replace("```", "").trim();
+            const lastBrace = cleanJson.lastIndexOf("}");
+            if (lastBrace > 0) cleanJson = cleanJson.substring(0, lastBrace + 1);
+        }
+        let parsedQuiz = JSON.parse(cleanJson);
+        if (!parsedQuiz.quizId || !Array.isArray(parsedQuiz.questions) || parsedQuiz.questions.length !== 5) {
+            throw new Error('Invalid quiz format: Expected a quiz id and 5 questions');
+        }
+        setQuiz(parsedQuiz);
+        setAnswers({});
+    };
+
     const handleOptionChange = (questionIndex, optionIndex) => {
         setAnswers((prev) => ({ ...prev, [questionIndex]: optionIndex }));
     };
@@ -70,9 +75,9 @@ const SignUp = () => {
             return;
         }
         try {
-            const answerArray = quiz.questions.map((_, index) => answers[index] || -1);
+            const answerArray = quiz.questions.map((_, index) => answers[index] ?? -1);
             const answerString = answerArray.join(',');
-            const response = await submitQuiz(userId, JSON.stringify(quiz), answerString);
+            const response = await submitQuiz(userId, quiz.quizId, answerString);
             const result = response.data;
             if (result.passed) {
                 setQuizPassed(true);
@@ -82,7 +87,8 @@ const SignUp = () => {
                     email: result.email || prev.email,
                 }));
             } else {
-                setError('Quiz Failed. Try Again.');
+                await loadQuiz(userId);
+                setError('Quiz Failed. Try Again with this new quiz.');
             }
         } catch (err) {
             setError(`Error submitting quiz: ${err.response?.data?.message || err.message}`);
@@ -21,9 +21,9 @@ export const registerClient = (user) => api.post('/users/register/client', user)
 
 export const getQuiz = (userId) => api.get(`/users/quiz/${userId}`);
 
-// Updated submitQuiz to send quiz and answers in the request body
-export const submitQuiz = (userId, quiz, answers) => {
-  return api.post(`/users/quiz/${userId}`, { quiz, answers }, {
+// A quiz is graded once, by the id it was issued with; answers are comma-separated option indices
+export const submitQuiz = (userId, quizId, answers) => {
+  return api.post(`/users/quiz/${userId}`, { quizId, answers }, {
     headers: { 'Content-Type': 'application/json' },
   });
 };
@@ -55,4 +55,69 @@ export const updateFreelancerDetails = (userId, freelancerData) => {
       'Content-Type': 'application/json',
     },
   });
-};
\ No newline at end of file
+};
+// One page of a keyset-paginated list endpoint: the rows plus the cursor to pass back
+// (as afterId or beforeId, per endpoint) for the next page, or null on the last page
+export const fetchPage = async (url, token, params) => {
+  const response = await axios.get(url, {
+    headers: { Authorization: `Bearer ${token}` },
+    params,
+  });
+  return { items: response.data, nextCursor: response.headers['x-next-cursor'] || null };
+};
+
+// Applies one job event to a list of jobs: drops the job if it was deleted or no longer
+// belongs in the list (keep returns false), otherwise replaces or appends it. Events older
+// than the version already shown are ignored.
+export const applyJobEvent = (jobs, event, keep) => {
+  const { type, jobId, timestamp, ...fields } = event;
+  const job = { id: jobId, ...fields };
+  const existing = jobs.find((j) => j.id === jobId);
+  if (existing && existing.version > job.version) return jobs;
+  if (type === 'DELETED' || !keep(job)) return jobs.filter((j) => j.id !== jobId);
+  return existing ? jobs.map((j) => (j.id === jobId ? { ...j, ...job } : j)) : [...jobs, job];
+};
+
+// Job change stream. EventSource can't send headers, so each connection redeems a
+// short-lived single-use ticket. Each "job" event carries the changed job and is passed
+// to onJob; onResync (a full re-fetch) runs only when the server reports dropped events
+// or after the stream reconnects, since events may have been missed meanwhile.
+// Returns a close function.
+export const subscribeToJobEvents = (token, { onJob, onResync }) => {
+  let events = null;
+  let retryTimer = null;
+  let closed = false;
+
+  const connect = async () => {
+    try {
+      const { data } = await axios.post('http://localhost:8081/api/jobs/events/ticket', null, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      if (closed) return;
+      events = new EventSource(`http://localhost:8081/api/jobs/events?ticket=${encodeURIComponent(data.ticket)}`);
+      events.addEventListener('job', (message) => onJob(JSON.parse(message.data)));
+      events.addEventListener('resync', onResync);
+      events.onerror = () => {
+        events.close();
+        reconnect();
+      };
+    } catch (err) {
+      reconnect();
+    }
+  };
+
+  const reconnect = () => {
+    if (closed) return;
+    retryTimer = setTimeout(() => {
+      onResync();
+      connect();
+    }, 5000);
+  };
+
+  connect();
+  return () => {
+    closed = true;
+    clearTimeout(retryTimer);
+    if (events) events.close();
+  };
+};
@@ -0,0 +1,29 @@
+package com.freelanceplatform.ai;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs Gemini-backed request handling on virtual threads. Controllers return the
+ * CompletableFuture so the Tomcat thread is released while the LLM call is in
+ * flight; how many calls actually reach Gemini is bounded by GeminiClient.
+ */
+@Component
+public class AiRequestExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,31 +2,39 @@ package com.freelanceplatform.ai;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 @Service
 public class ChatbotGeminiService {
 
-    @Value("${gemini.api.key}")
-    private String apiKey;
+    @Autowired
+    private GeminiClient geminiClient;
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
+    @Autowired
+    private ConversationStore conversationStore;
+
+    @Value("${chatbot.stream.max-tokens:1024}")
+    private int streamMaxTokens;
 
     // Method to get response for text queries
     public String getChatbotResponse(String query) {
-        String prompt = "Answer as a helpful assistant: " + query;
-        return callGemini(prompt, 150); // Sending query to Gemini with 150 tokens limit
+        return getChatbotResponse(null, query);
+    }
+
+    // Same, with the session's earlier turns in the prompt; the exchange is remembered unless Gemini failed
+    public String getChatbotResponse(String sessionId, String query) {
+        String prompt = conversationStore.buildPrompt(sessionId, query);
+        String answer = callGemini(prompt, 150); // Sending query to Gemini with 150 tokens limit
+        if (!answer.startsWith("Error:")) {
+            conversationStore.append(sessionId, query, answer);
+        }
+        return answer;
     }
 
     // Method to handle file content
@@ -35,24 +43,29 @@ public class ChatbotGeminiService {
         return callGemini(prompt, 150); // Send file content to Gemini with 150 tokens limit
     }
 
+    // Streams the answer fragment by fragment; a longer token limit is fine because the user sees text right away
+    public boolean streamChatbotResponse(String sessionId, String query, Consumer<String> onText, BooleanSupplier cancelled)
+            throws IOException, InterruptedException {
+        String prompt = conversationStore.buildPrompt(sessionId, query);
+        StringBuilder answer = new StringBuilder();
+        boolean finished = geminiClient.streamGenerateContent(prompt, streamMaxTokens, text -> {
+            answer.append(text);
+            onText.accept(text);
+        }, cancelled);
+        if (finished) {
+            conversationStore.append(sessionId, query, answer.toString());
+        }
+        return finished;
+    }
+
+    public void clearConversation(String sessionId) {
+        conversationStore.clear(sessionId);
+    }
+
     // Generic method to call the Gemini API
     private String callGemini(String prompt, int maxTokens) {
         try {
-            if (apiKey == null || apiKey.trim().isEmpty()) {
-                throw new IllegalStateException("Gemini API key is not configured");
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("contents", List.of(Map.of("role", "user", "parts", List.of(Map.of("text", prompt)))));
-            requestBody.put("generationConfig", Map.of("maxOutputTokens", maxTokens));
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            String urlWithKey = GEMINI_API_URL + "?key=" + apiKey;
-            String response = restTemplate.exchange(urlWithKey, HttpMethod.POST, entity, String.class).getBody();
-
+            String response = geminiClient.generateContent(prompt, maxTokens);
             return parseGeminiResponse(response);
         } catch (Exception e) {
             System.err.println("Failed to call Gemini API: " + e.getMessage());
@@ -0,0 +1,156 @@
+package com.freelanceplatform.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Chatbot conversation history per session, bounded three ways: each session keeps
+ * its recent turns within chatbot.memory.context-tokens, the store holds at most
+ * chatbot.memory.max-sessions sessions and chatbot.memory.max-total-chars characters
+ * (least recently used sessions are evicted first), and idle sessions expire.
+ * Turns that fall out of a session's budget are condensed into a short digest of
+ * truncated lines, so the prompt keeps the gist of older turns at a fixed cost.
+ */
+@Component
+public class ConversationStore {
+    private static final int CHARS_PER_TOKEN = 4; // Rough estimate for English text
+    private static final int DIGEST_LINE_CHARS = 160;
+
+    @Value("${chatbot.memory.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${chatbot.memory.max-total-chars:20000000}")
+    private long maxTotalChars;
+
+    @Value("${chatbot.memory.context-tokens:1500}")
+    private int contextTokens;
+
+    @Value("${chatbot.memory.digest-tokens:300}")
+    private int digestTokens;
+
+    @Value("${chatbot.memory.idle-ttl-ms:1800000}")
+    private long idleTtlMs;
+
+    private final LinkedHashMap<String, Conversation> sessions = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalChars;
+    private long evictions;
+
+    private record Turn(String role, String text) {}
+
+    private static final class Conversation {
+        final Deque<Turn> turns = new ArrayDeque<>();
+        final StringBuilder digest = new StringBuilder();
+        int turnChars;
+        long lastUsed;
+
+        int chars() {
+            return turnChars + digest.length();
+        }
+    }
+
+    /** The prompt for the next query, with this session's condensed history in front of it. */
+    public synchronized String buildPrompt(String sessionId, String query) {
+        Conversation conversation = sessionId == null ? null : sessions.get(sessionId);
+        if (conversation == null || conversation.chars() == 0) {
+            return "Answer as a helpful assistant: " + query;
+        }
+        StringBuilder prompt = new StringBuilder("Answer as a helpful assistant. Use the conversation so far for context.\n");
+        if (conversation.digest.length() > 0) {
+            prompt.append("Earlier in this conversation (condensed):\n").append(conversation.digest).append('\n');
+        }
+        for (Turn turn : conversation.turns) {
+            prompt.append(turn.role()).append(": ").append(turn.text()).append('\n');
+        }
+        return prompt.append("User: ").append(query).toString();
+    }
+
+    public synchronized void append(String sessionId, String query, String answer) {
+        if (sessionId == null) {
+            return;
+        }
+        Conversation conversation = sessions.get(sessionId);
+        if (conversation == null) {
+            conversation = new Conversation();
+            sessions.put(sessionId, conversation);
+        }
+        int before = conversation.chars();
+        addTurn(conversation, "User", query);
+        addTurn(conversation, "Assistant", answer);
+        compact(conversation);
+        conversation.lastUsed = System.currentTimeMillis();
+        totalChars += conversation.chars() - before;
+        evictOverflow();
+    }
+
+    public synchronized void clear(String sessionId) {
+        Conversation removed = sessions.remove(sessionId);
+        if (removed != null) {
+            totalChars -= removed.chars();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chatbot.memory.purge-interval-ms:60000}")
+    public synchronized void purgeIdle() {
+        long cutoff = System.currentTimeMillis() - idleTtlMs;
+        Iterator<Conversation> it = sessions.values().iterator();
+        while (it.hasNext()) {
+            Conversation conversation = it.next();
+            if (conversation.lastUsed < cutoff) {
+                totalChars -= conversation.chars();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("totalChars", totalChars);
+        stats.put("evictions", evictions);
+        return stats;
+    }
+
+    // A single turn never takes more than the whole context budget; the head is kept
+    private void addTurn(Conversation conversation, String role, String text) {
+        String kept = truncate(text == null ? "" : text, contextTokens * CHARS_PER_TOKEN);
+        conversation.turns.addLast(new Turn(role, kept));
+        conversation.turnChars += kept.length();
+    }
+
+    private void compact(Conversation conversation) {
+        int contextChars = contextTokens * CHARS_PER_TOKEN;
+        while (conversation.turnChars > contextChars && conversation.turns.size() > 2) {
+            Turn oldest = conversation.turns.removeFirst();
+            conversation.turnChars -= oldest.text().length();
+            conversation.digest.append(oldest.role()).append(": ")
+                    .append(truncate(oldest.text().replace('\n', ' '), DIGEST_LINE_CHARS)).append('\n');
+        }
+        // The digest is itself bounded: its oldest lines go first
+        int digestChars = digestTokens * CHARS_PER_TOKEN;
+        while (conversation.digest.length() > digestChars) {
+            int lineEnd = conversation.digest.indexOf("\n");
+            conversation.digest.delete(0, lineEnd < 0 ? conversation.digest.length() : lineEnd + 1);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Conversation> it = sessions.values().iterator();
+        while ((sessions.size() > maxSessions || totalChars > maxTotalChars) && it.hasNext()) {
+            totalChars -= it.next().chars();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static String truncate(String text, int maxChars) {
+        return text.length() <= maxChars ? text : text.substring(0, maxChars) + "...";
+    }
+}
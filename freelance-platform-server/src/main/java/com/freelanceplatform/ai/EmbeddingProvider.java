@@ -0,0 +1,16 @@
+package com.freelanceplatform.ai;
+
+/**
+ * Turns resume and job text into fixed-length vectors for semantic matching.
+ * Pick one with embedding.provider ("hashing" or "gemini").
+ */
+public interface EmbeddingProvider {
+
+    // Stored with the vectors; when it changes, stored vectors are recomputed instead of mixed
+    String id();
+
+    int dimension();
+
+    // Unit-length vector of dimension() floats
+    float[] embed(String text);
+}
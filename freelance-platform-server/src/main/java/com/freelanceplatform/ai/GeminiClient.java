@@ -0,0 +1,210 @@
+package com.freelanceplatform.ai;
+
+import com.freelanceplatform.config.OutboundHttpMetrics;
+import jakarta.annotation.PostConstruct;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Sends generateContent requests to Gemini over the shared outbound RestTemplate, and
+ * streamGenerateContent requests over the underlying JDK HttpClient.
+ * Returns the raw response body; interpreting it is left to the calling service.
+ * At most gemini.max-concurrent-calls requests are in flight; callers beyond that
+ * wait up to gemini.acquire-timeout-ms and then fail fast instead of piling up.
+ */
+@Component
+public class GeminiClient {
+    private static final String GEMINI_API_BASE = "https://generativelanguage.googleapis.com/v1beta/models/";
+
+    @Value("${gemini.api.key}")
+    private String apiKey;
+
+    @Value("${gemini.model:gemini-2.0-flash}")
+    private String model;
+
+    @Value("${gemini.max-concurrent-calls:32}")
+    private int maxConcurrentCalls;
+
+    @Value("${gemini.acquire-timeout-ms:10000}")
+    private long acquireTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long firstByteTimeoutMs;
+
+    @Autowired
+    private RestTemplate outboundRestTemplate;
+
+    @Autowired
+    private OutboundHttpMetrics outboundHttpMetrics;
+
+    @Autowired
+    private HttpClient outboundHttpClient;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String generateContent(String prompt, int maxTokens) {
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            throw new IllegalStateException("Gemini API key is not configured");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("contents", List.of(Map.of("role", "user", "parts", List.of(Map.of("text", prompt)))));
+        requestBody.put("generationConfig", Map.of("maxOutputTokens", maxTokens));
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+        String urlWithKey = GEMINI_API_BASE + model + ":generateContent?key=" + apiKey;
+        acquirePermit();
+        try {
+            return outboundRestTemplate.exchange(urlWithKey, HttpMethod.POST, entity, String.class).getBody();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Calls streamGenerateContent (SSE) and hands each text fragment to onText as soon
+     * as its event arrives; nothing is buffered beyond the current line. The stream is
+     * closed, which aborts the upstream request, once cancelled returns true.
+     * Returns false if the call was cancelled before Gemini finished.
+     */
+    public boolean streamGenerateContent(String prompt, int maxTokens, Consumer<String> onText, BooleanSupplier cancelled)
+            throws IOException, InterruptedException {
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            throw new IllegalStateException("Gemini API key is not configured");
+        }
+        JSONObject body = new JSONObject()
+                .put("contents", new JSONArray().put(new JSONObject()
+                        .put("role", "user")
+                        .put("parts", new JSONArray().put(new JSONObject().put("text", prompt)))))
+                .put("generationConfig", new JSONObject().put("maxOutputTokens", maxTokens));
+        URI uri = URI.create(GEMINI_API_BASE + model + ":streamGenerateContent?alt=sse&key=" + apiKey);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(firstByteTimeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+
+        acquirePermit();
+        // Not sent through the RestTemplate interceptor, so the call is recorded here;
+        // the duration covers the whole stream and a broken stream counts as a failure
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            HttpResponse<Stream<String>> response = outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+            try (Stream<String> lines = response.body()) {
+                if (response.statusCode() != 200) {
+                    failed = response.statusCode() >= 500;
+                    throw new IOException("Gemini stream failed with HTTP " + response.statusCode());
+                }
+                Iterator<String> it = lines.iterator();
+                while (it.hasNext()) {
+                    if (cancelled.getAsBoolean()) {
+                        failed = false;
+                        return false;
+                    }
+                    String line = it.next();
+                    if (line.startsWith("data:")) {
+                        String text = chunkText(line.substring(5).trim());
+                        if (!text.isEmpty()) {
+                            onText.accept(text);
+                        }
+                    }
+                }
+                failed = false;
+                return !cancelled.getAsBoolean();
+            }
+        } finally {
+            permits.release();
+            outboundHttpMetrics.record(OutboundHttpMetrics.upstream(uri), System.nanoTime() - start, failed);
+        }
+    }
+
+    // Raw embedContent response for one text; the vector is at embedding.values
+    public String embedContent(String embeddingModel, String text, int dimensions) {
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            throw new IllegalStateException("Gemini API key is not configured");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", "models/" + embeddingModel);
+        requestBody.put("content", Map.of("parts", List.of(Map.of("text", text))));
+        requestBody.put("outputDimensionality", dimensions);
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+        String urlWithKey = GEMINI_API_BASE + embeddingModel + ":embedContent?key=" + apiKey;
+        acquirePermit();
+        try {
+            return outboundRestTemplate.exchange(urlWithKey, HttpMethod.POST, entity, String.class).getBody();
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Concatenated text parts of one streamed GenerateContentResponse
+    private static String chunkText(String json) {
+        JSONArray candidates = new JSONObject(json).optJSONArray("candidates");
+        if (candidates == null || candidates.isEmpty()) {
+            return "";
+        }
+        JSONObject content = candidates.getJSONObject(0).optJSONObject("content");
+        JSONArray parts = content == null ? null : content.optJSONArray("parts");
+        if (parts == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < parts.length(); i++) {
+            text.append(parts.getJSONObject(i).optString("text", ""));
+        }
+        return text.toString();
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Gemini is busy: " + maxConcurrentCalls + " calls already in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Gemini slot", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.freelanceplatform.ai;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Embeddings from the Gemini embedContent API, truncated to embedding.dimension
+ * and re-normalized. Shares GeminiClient's concurrency limit with the other calls.
+ */
+@Component
+@ConditionalOnProperty(name = "embedding.provider", havingValue = "gemini")
+public class GeminiEmbeddingProvider implements EmbeddingProvider {
+    private static final int MAX_INPUT_CHARS = 8000;
+
+    @Autowired
+    private GeminiClient geminiClient;
+
+    @Value("${embedding.gemini.model:text-embedding-004}")
+    private String model;
+
+    @Value("${embedding.dimension:256}")
+    private int dimension;
+
+    @Override
+    public String id() {
+        return "gemini:" + model;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        String input = text == null ? "" : text.length() > MAX_INPUT_CHARS ? text.substring(0, MAX_INPUT_CHARS) : text;
+        JSONObject response = new JSONObject(geminiClient.embedContent(model, input, dimension));
+        JSONArray values = response.getJSONObject("embedding").getJSONArray("values");
+        if (values.length() < dimension) {
+            throw new IllegalStateException("Gemini returned " + values.length() + " dimensions, expected " + dimension);
+        }
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) values.getDouble(i);
+            norm += vector[i] * vector[i];
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < dimension; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,123 @@
+package com.freelanceplatform.ai;
+
+import com.freelanceplatform.model.GeminiCacheEntry;
+import com.freelanceplatform.repository.GeminiCacheEntryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Content-addressed cache for Gemini responses. Keys are the SHA-256 of model,
+ * maxTokens and prompt, so an identical request is answered without calling Gemini.
+ * The first tier is an in-memory LRU; the optional second tier is the gemini_cache
+ * table, which survives restarts and is shared between instances.
+ */
+@Component
+public class GeminiResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(GeminiResponseCache.class);
+
+    @Value("${gemini.cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${gemini.cache.persistent:true}")
+    private boolean persistent;
+
+    @Autowired
+    private GeminiCacheEntryRepository cacheEntryRepository;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder persistentHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private Map<String, CachedResponse> memory;
+
+    private record CachedResponse(String response, long expiresAt) {}
+
+    @PostConstruct
+    void init() {
+        memory = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public static String key(String model, int maxTokens, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((model + "\n" + maxTokens + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+        CachedResponse cached = memory.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            memoryHits.increment();
+            return cached.response();
+        }
+        if (persistent) {
+            try {
+                GeminiCacheEntry entry = cacheEntryRepository.findById(key).orElse(null);
+                if (entry != null && entry.getExpiresAt() > now) {
+                    persistentHits.increment();
+                    memory.put(key, new CachedResponse(entry.getResponse(), entry.getExpiresAt()));
+                    return entry.getResponse();
+                }
+            } catch (Exception e) {
+                logger.warn("Gemini cache lookup failed: {}", e.getMessage());
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, String operation, String response, long ttlMillis) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        memory.put(key, new CachedResponse(response, expiresAt));
+        if (persistent) {
+            try {
+                GeminiCacheEntry entry = new GeminiCacheEntry();
+                entry.setCacheKey(key);
+                entry.setOperation(operation);
+                entry.setResponse(response);
+                entry.setExpiresAt(expiresAt);
+                cacheEntryRepository.save(entry);
+            } catch (Exception e) {
+                logger.warn("Failed to persist Gemini cache entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gemini.cache.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (persistent) {
+            int removed = cacheEntryRepository.deleteExpired(System.currentTimeMillis());
+            logger.debug("Purged {} expired Gemini cache rows", removed);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "memoryHits", memoryHits.sum(),
+                "persistentHits", persistentHits.sum(),
+                "misses", misses.sum(),
+                "memorySize", memory.size());
+    }
+}
@@ -1,31 +1,180 @@
 package com.freelanceplatform.ai;
 
+import com.freelanceplatform.services.TextNormalizer;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import java.util.HashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 @Service
 public class GeminiService {
-    @Value("${gemini.api.key}")
-    private String apiKey;
-    
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
+    private static final String FALLBACK_RESPONSE = "{\"name\":\"Unknown\",\"email\":\"unknown@example.com\",\"phone\":\"0000000000\",\"skills\":\"Unknown\"}";
+
+    @Autowired
+    private GeminiClient geminiClient;
+
+    @Autowired
+    private GeminiResponseCache responseCache;
+
+    @Autowired
+    private QuizPool quizPool;
+
+    @Autowired
+    private AiRequestExecutor aiRequestExecutor;
+
+    @Value("${gemini.cache.parse-resume-ttl-ms:604800000}")
+    private long parseResumeTtlMs;
+
+    @Value("${gemini.quiz.ttl-ms:86400000}")
+    private long quizTtlMs;
+
+    @Value("${gemini.bulk.max-resumes-per-call:8}")
+    private int maxResumesPerCall;
+
+    @Value("${gemini.bulk.max-prompt-chars:32000}")
+    private int maxBulkPromptChars;
+
+    @Value("${gemini.bulk.max-chars-per-resume:6000}")
+    private int maxCharsPerResume;
 
     public String parseResume(String resumeText) {
-        String prompt = "Extract name, email, phone number, and skills from this resume in JSON format: {\"name\":\"\", \"email\":\"\", \"phone\":\"\", \"skills\":\"\"}. Resume: " + resumeText;
-        return callGemini(prompt, 200);
+        return cachedCall("parse-resume", parseResumePrompt(resumeText), 200, parseResumeTtlMs);
     }
 
+    /**
+     * Parses many resumes with as few Gemini calls as the prompt budget allows. Resumes
+     * already in the parse cache are answered from it; the rest are packed into prompts
+     * of up to gemini.bulk.max-resumes-per-call resumes, each cut to its first
+     * gemini.bulk.max-chars-per-resume characters (contact details and skills sit at the
+     * top). A batch whose answer can't be matched back to its resumes is retried one by
+     * one. Results are returned in input order and cached under the single-resume key; an
+     * entry is null when its resume couldn't be parsed (Gemini failed or was unreachable),
+     * never an error string or the offline fallback.
+     */
+    public List<String> parseResumes(List<String> resumeTexts) {
+        String[] results = new String[resumeTexts.size()];
+        List<Integer> batch = new ArrayList<>();
+        int batchChars = 0;
+        for (int i = 0; i < resumeTexts.size(); i++) {
+            String cached = responseCache.get(parseResumeKey(resumeTexts.get(i)));
+            if (cached != null) {
+                results[i] = cached;
+                continue;
+            }
+            int chars = Math.min(resumeTexts.get(i).length(), maxCharsPerResume);
+            if (!batch.isEmpty() && (batch.size() >= maxResumesPerCall || batchChars + chars > maxBulkPromptChars)) {
+                parseBatch(resumeTexts, batch, results);
+                batch.clear();
+                batchChars = 0;
+            }
+            batch.add(i);
+            batchChars += chars;
+        }
+        if (!batch.isEmpty()) {
+            parseBatch(resumeTexts, batch, results);
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private void parseBatch(List<String> resumeTexts, List<Integer> batch, String[] results) {
+        if (batch.size() == 1) {
+            int index = batch.get(0);
+            results[index] = parseResumeOrNull(resumeTexts.get(index));
+            return;
+        }
+        StringBuilder prompt = new StringBuilder("Extract name, email, phone number, and skills from each of the ")
+                .append(batch.size())
+                .append(" resumes below. Return only a JSON array with exactly one object per resume, in the same order, each in this format: ")
+                .append("{\"name\":\"\", \"email\":\"\", \"phone\":\"\", \"skills\":\"\"}.");
+        for (int i = 0; i < batch.size(); i++) {
+            String text = resumeTexts.get(batch.get(i));
+            prompt.append("\n\nResume ").append(i + 1).append(":\n")
+                  .append(text, 0, Math.min(text.length(), maxCharsPerResume));
+        }
+
+        JSONArray parsed = null;
+        try {
+            String text = candidateText(geminiClient.generateContent(prompt.toString(), 200 * batch.size()));
+            if (text != null) {
+                parsed = new JSONArray(text);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to call Gemini API for resume batch: " + e.getMessage());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            int index = batch.get(i);
+            JSONObject entry = parsed != null && parsed.length() == batch.size() ? parsed.optJSONObject(i) : null;
+            if (entry == null || !entry.has("name") || !belongsTo(entry, resumeTexts.get(index))) {
+                results[index] = parseResumeOrNull(resumeTexts.get(index));
+                continue;
+            }
+            results[index] = entry.toString();
+            responseCache.put(parseResumeKey(resumeTexts.get(index)), "parse-resume", results[index], parseResumeTtlMs);
+        }
+    }
+
+    // Only a response that would be cached counts as a parse; errors and the fallback don't
+    private String parseResumeOrNull(String resumeText) {
+        String parsed = parseResume(resumeText);
+        return isCacheable(parsed) ? parsed : null;
+    }
+
+    // A right-length answer can still be shuffled or shifted; only trust an entry whose
+    // email (or, without one, name) actually occurs in the resume it is paired with
+    private static boolean belongsTo(JSONObject entry, String resumeText) {
+        String email = entry.optString("email", "").trim();
+        String probe = email.isEmpty() ? entry.optString("name", "").trim() : email;
+        return !probe.isEmpty() && resumeText.toLowerCase().contains(probe.toLowerCase());
+    }
+
+    private String parseResumeKey(String resumeText) {
+        return GeminiResponseCache.key(geminiClient.getModel(), 200, parseResumePrompt(resumeText));
+    }
+
+    private static String parseResumePrompt(String resumeText) {
+        return "Extract name, email, phone number, and skills from this resume in JSON format: {\"name\":\"\", \"email\":\"\", \"phone\":\"\", \"skills\":\"\"}. Resume: " + resumeText;
+    }
+
+    // Same skill set (any order, case or separator) -> same pool of quizzes
     public String generateQuiz(String skills) {
-        String prompt = "Generate a 5-question multiple-choice quiz based on these skills: " + skills + 
+        List<String> normalized = TextNormalizer.skills(skills);
+        String skillKey = String.join(", ", normalized.stream().sorted().toList());
+        String pooled = quizPool.take(skillKey);
+        if (pooled != null) {
+            if (quizPool.startRefill(skillKey)) {
+                aiRequestExecutor.supply(() -> {
+                    try {
+                        return addToPool(skillKey, false);
+                    } finally {
+                        quizPool.finishRefill(skillKey);
+                    }
+                });
+            }
+            return pooled;
+        }
+        return addToPool(skillKey, true);
+    }
+
+    // The first quiz of a skill set goes through the prompt cache (so it survives restarts);
+    // refills must reach Gemini, or every pooled quiz would be the same one
+    private String addToPool(String skillKey, boolean useCache) {
+        String quiz = useCache
+                ? cachedCall("quiz", quizPrompt(skillKey), 500, quizTtlMs)
+                : callGemini(quizPrompt(skillKey), 500);
+        if (isCacheable(quiz)) {
+            quizPool.add(skillKey, quiz);
+        }
+        return quiz;
+    }
+
+    private String quizPrompt(String skills) {
+        return "Generate a 5-question multiple-choice quiz based on these skills: " + skills + 
                        ". Return the quiz in strict JSON format with exactly 5 questions, each having a 'question' string, an 'options' array with exactly 4 unique options, and an 'answer' index (0-3) indicating the correct option. Use this exact structure: " +
                        "{\"questions\": [" +
                        "{\"question\": \"Question 1 text\", \"options\": [\"Option A1\", \"Option B1\", \"Option C1\", \"Option D1\"], \"answer\": 0}," +
@@ -34,12 +183,6 @@ public class GeminiService {
                        "{\"question\": \"Question 4 text\", \"options\": [\"Option A4\", \"Option B4\", \"Option C4\", \"Option D4\"], \"answer\": 3}," +
                        "{\"question\": \"Question 5 text\", \"options\": [\"Option A5\", \"Option B5\", \"Option C5\", \"Option D5\"], \"answer\": 0}" +
                        "]}";
-        return callGemini(prompt, 500);
-    }
-
-    public String evaluateQuiz(String quiz, String answers) {
-        String prompt = "You are an AI assistant tasked with evaluating a quiz. The quiz is provided in JSON format, and the answers are given as comma-separated indices (0-3) corresponding to the selected options for each question. Compare the user's answers with the 'answer' field in each question. Return a JSON object with a single field 'result': {\"result\": \"Pass\"} if 3 or more answers match the correct answers, otherwise {\"result\": \"Fail\"}. Do not include the quiz data, questions, or any other fields in the response. Only return the JSON object with the 'result' field.\n\nQuiz: " + quiz + "\nAnswers: " + answers;
-        return callGemini(prompt, 200); // Increased from 100 to 200 to avoid truncation
     }
 
     public String chatbotResponse(String query) {
@@ -47,77 +190,63 @@ public class GeminiService {
         return callGemini(prompt, 150);
     }
 
-    private String callGemini(String prompt, int maxTokens) {
-        try {
-            if (apiKey == null || apiKey.trim().isEmpty()) {
-                throw new IllegalStateException("Gemini API key is not configured");
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("contents", List.of(Map.of("role", "user", "parts", List.of(Map.of("text", prompt)))));
-            requestBody.put("generationConfig", Map.of("maxOutputTokens", maxTokens));
+    private String cachedCall(String operation, String prompt, int maxTokens, long ttlMillis) {
+        String key = GeminiResponseCache.key(geminiClient.getModel(), maxTokens, prompt);
+        String cached = responseCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String response = callGemini(prompt, maxTokens);
+        if (isCacheable(response)) {
+            responseCache.put(key, operation, response, ttlMillis);
+        }
+        return response;
+    }
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            String urlWithKey = GEMINI_API_URL + "?key=" + apiKey;
-            String response = restTemplate.exchange(urlWithKey, HttpMethod.POST, entity, String.class).getBody();
+    // Errors and the offline fallback must not be cached, or a transient failure would stick
+    private static boolean isCacheable(String response) {
+        return response != null && !response.startsWith("Error") && !FALLBACK_RESPONSE.equals(response);
+    }
 
+    private String callGemini(String prompt, int maxTokens) {
+        try {
+            String response = geminiClient.generateContent(prompt, maxTokens);
             return parseGeminiResponse(response);
         } catch (Exception e) {
             System.err.println("Failed to call Gemini API: " + e.getMessage());
-            return "{\"name\":\"Unknown\",\"email\":\"unknown@example.com\",\"phone\":\"0000000000\",\"skills\":\"Unknown\"}";
+            return FALLBACK_RESPONSE;
         }
     }
 
     private String parseGeminiResponse(String response) {
         try {
-            JSONObject jsonResponse = new JSONObject(response);
-            JSONArray candidates = jsonResponse.optJSONArray("candidates");
-            if (candidates != null && candidates.length() > 0) {
-                JSONObject firstCandidate = candidates.getJSONObject(0);
-                JSONArray parts = firstCandidate.optJSONObject("content").optJSONArray("parts");
-                if (parts != null && parts.length() > 0) {
-                    String text = parts.getJSONObject(0).optString("text", "Error: No text in response");
-                    // Remove Markdown code block markers if present
-                    if (text.startsWith("```json")) {
-                        text = text.replace("```json", "").trim();
-                        if (text.endsWith("```")) {
-                            text = text.substring(0, text.length() - 3).trim();
-                        } else {
-                            int lastBrace = text.lastIndexOf("}");
-                            if (lastBrace > 0) {
-                                text = text.substring(0, lastBrace + 1);
-                            }
-                        }
-                    }
-                    // Parse the cleaned text to validate the response format
-                    JSONObject parsedJson = new JSONObject(text);
-                    // For quiz evaluation, expect "result" field
-                    if (parsedJson.has("result")) {
-                        String result = parsedJson.getString("result");
-                        if (!"Pass".equalsIgnoreCase(result) && !"Fail".equalsIgnoreCase(result)) {
-                            return "Error: Invalid evaluation result - expected 'Pass' or 'Fail'";
-                        }
-                        return text;
+            String text = candidateText(response);
+            if (text != null) {
+                // Parse the cleaned text to validate the response format
+                JSONObject parsedJson = new JSONObject(text);
+                // For quiz evaluation, expect "result" field
+                if (parsedJson.has("result")) {
+                    String result = parsedJson.getString("result");
+                    if (!"Pass".equalsIgnoreCase(result) && !"Fail".equalsIgnoreCase(result)) {
+                        return "Error: Invalid evaluation result - expected 'Pass' or 'Fail'";
                     }
-                    // For quiz generation, expect "questions" array
-                    else if (parsedJson.has("questions")) {
-                        JSONArray questions = parsedJson.getJSONArray("questions");
-                        if (questions.length() != 5) {
-                            return "Error: Invalid quiz format - expected 5 questions";
-                        }
-                        return text;
-                    }
-                    // For resume parsing, expect "name" field
-                    else if (parsedJson.has("name")) {
-                        return text;
-                    }
-                    // For chatbot response, return the text as-is
-                    else {
-                        return text;
+                    return text;
+                }
+                // For quiz generation, expect "questions" array
+                else if (parsedJson.has("questions")) {
+                    JSONArray questions = parsedJson.getJSONArray("questions");
+                    if (questions.length() != 5) {
+                        return "Error: Invalid quiz format - expected 5 questions";
                     }
+                    return text;
+                }
+                // For resume parsing, expect "name" field
+                else if (parsedJson.has("name")) {
+                    return text;
+                }
+                // For chatbot response, return the text as-is
+                else {
+                    return text;
                 }
             }
             return "Error: No valid response from Gemini";
@@ -126,4 +255,31 @@ public class GeminiService {
             return "Error: Invalid Gemini response format";
         }
     }
+
+    // Text of the first candidate with any Markdown code fence removed, or null if there is none
+    private static String candidateText(String response) {
+        JSONObject jsonResponse = new JSONObject(response);
+        JSONArray candidates = jsonResponse.optJSONArray("candidates");
+        if (candidates != null && candidates.length() > 0) {
+            JSONObject firstCandidate = candidates.getJSONObject(0);
+            JSONArray parts = firstCandidate.optJSONObject("content").optJSONArray("parts");
+            if (parts != null && parts.length() > 0) {
+                String text = parts.getJSONObject(0).optString("text", "Error: No text in response");
+                // Remove Markdown code block markers if present
+                if (text.startsWith("```json")) {
+                    text = text.replace("```json", "").trim();
+                    if (text.endsWith("```")) {
+                        text = text.substring(0, text.length() - 3).trim();
+                    } else {
+                        int lastBrace = Math.max(text.lastIndexOf("}"), text.lastIndexOf("]"));
+                        if (lastBrace > 0) {
+                            text = text.substring(0, lastBrace + 1);
+                        }
+                    }
+                }
+                return text;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.freelanceplatform.ai;
+
+import com.freelanceplatform.services.TextNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Local, deterministic embeddings: words and adjacent word pairs are hashed into
+ * signed buckets (the hashing trick) and the result is normalized. Texts that share
+ * vocabulary land close together. There's no notion of synonyms, but it needs no
+ * network or model files, and the same text always gives the same vector, which
+ * makes it the default for development and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "embedding.provider", havingValue = "hashing", matchIfMissing = true)
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+    private static final float PAIR_WEIGHT = 0.5f;
+
+    @Value("${embedding.dimension:256}")
+    private int dimension;
+
+    @Override
+    public String id() {
+        return "hashing-v1";
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimension];
+        List<String> words = TextNormalizer.words(text == null ? "" : text);
+        for (int i = 0; i < words.size(); i++) {
+            add(vector, words.get(i).hashCode(), 1f);
+            if (i + 1 < words.size()) {
+                add(vector, 31 * words.get(i).hashCode() + words.get(i + 1).hashCode() + 0x5bd1e995, PAIR_WEIGHT);
+            }
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < dimension; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, int hash, float weight) {
+        int h = mix(hash);
+        vector[Math.floorMod(h, dimension)] += (mix(h) & 1) == 0 ? weight : -weight;
+    }
+
+    // murmur3 finalizer, so similar hash codes spread across buckets
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,72 @@
+package com.freelanceplatform.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pre-generated quizzes per normalized skill set. Users with the same skills are
+ * served a random pooled quiz straight from memory while the pool is topped up
+ * in the background, so they don't all get the same five questions.
+ */
+@Component
+public class QuizPool {
+
+    @Value("${gemini.quiz.pool-size:5}")
+    private int poolSize;
+
+    @Value("${gemini.quiz.ttl-ms:86400000}")
+    private long ttlMillis;
+
+    private final Map<String, List<PooledQuiz>> pools = new ConcurrentHashMap<>();
+    private final Set<String> refilling = ConcurrentHashMap.newKeySet();
+
+    private record PooledQuiz(String quiz, long expiresAt) {}
+
+    public String take(String skillKey) {
+        List<PooledQuiz> pool = pools.get(skillKey);
+        if (pool == null) {
+            return null;
+        }
+        synchronized (pool) {
+            long now = System.currentTimeMillis();
+            pool.removeIf(entry -> entry.expiresAt() <= now);
+            if (pool.isEmpty()) {
+                return null;
+            }
+            return pool.get(ThreadLocalRandom.current().nextInt(pool.size())).quiz();
+        }
+    }
+
+    public void add(String skillKey, String quiz) {
+        List<PooledQuiz> pool = pools.computeIfAbsent(skillKey, key -> new ArrayList<>());
+        synchronized (pool) {
+            if (pool.size() < poolSize) {
+                pool.add(new PooledQuiz(quiz, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+    }
+
+    // True if the caller should generate one more quiz for this skill set; at most one refill runs per key
+    public boolean startRefill(String skillKey) {
+        List<PooledQuiz> pool = pools.get(skillKey);
+        if (pool != null) {
+            synchronized (pool) {
+                if (pool.size() >= poolSize) {
+                    return false;
+                }
+            }
+        }
+        return refilling.add(skillKey);
+    }
+
+    public void finishRefill(String skillKey) {
+        refilling.remove(skillKey);
+    }
+}
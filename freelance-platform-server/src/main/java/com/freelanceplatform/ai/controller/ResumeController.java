@@ -17,13 +17,39 @@ public class ResumeController {
         this.resumeScoringService = resumeScoringService;
     }
 
+    // Accepts the same form fields as the Flask /process endpoint ("pdf_doc", "job_role", "job_description")
     @PostMapping("/score")
-    public ResponseEntity<Map<String, Object>> uploadResume(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Map<String, Object>> uploadResume(
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "pdf_doc", required = false) MultipartFile pdfDoc,
+            @RequestParam(value = "job_role", required = false) String jobRole,
+            @RequestParam(value = "job_description", required = false) String jobDescription) {
+        MultipartFile resume = file != null ? file : pdfDoc;
+        if (resume == null || resume.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No resume file provided"));
+        }
         try {
-            Map<String, Object> response = resumeScoringService.getResumeScore(file);
+            Map<String, Object> response = resumeScoringService.getResumeScore(resume, jobRole, jobDescription);
             return ResponseEntity.ok(response);
+        } catch (ResumeScoringService.UploadTooLargeException e) {
+            return ResponseEntity.status(413).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to process resume"));
         }
     }
+
+    // Scores the resume text saved when the freelancer registered
+    @PostMapping("/score/user/{userId}")
+    public ResponseEntity<Map<String, Object>> scoreStoredResume(
+            @PathVariable Long userId,
+            @RequestParam(value = "job_role", required = false) String jobRole,
+            @RequestParam(value = "job_description", required = false) String jobDescription) {
+        try {
+            return ResponseEntity.ok(resumeScoringService.getStoredResumeScore(userId, jobRole, jobDescription));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(Map.of("error", e.getMessage()));
+        }
+    }
 }
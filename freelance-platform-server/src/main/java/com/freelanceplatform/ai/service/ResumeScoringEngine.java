@@ -0,0 +1,288 @@
+package com.freelanceplatform.ai.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Scores resumes in-process with the exported TF-IDF model, mirroring the Flask /process
+ * pipeline: raw text tokenized by the vectorizer's own analyzer (lowercase, runs of two or
+ * more word characters, digits kept), an L2-normalized TF-IDF vector, the model's
+ * probability as the ML score, and the same role-based weighting. Skill suggestions use
+ * preprocess_text's tokens (letters only, no stop words or short tokens), as in app.py.
+ * Job-description similarity is TF-IDF cosine instead of BERT.
+ *
+ * Text is scanned once into a char buffer and looked up without creating token Strings;
+ * a document vector is a sorted int[] of term ids collapsed into parallel index/weight arrays.
+ */
+@Component
+public class ResumeScoringEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ResumeScoringEngine.class);
+    private static final int MAX_TOKEN_LENGTH = 64; // Longer runs of letters are never vocabulary terms
+    private static final int MAX_SUGGESTIONS = 5;
+
+    @Value("${resume.scoring.model-path:}")
+    private String modelPath;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    private volatile ResumeScoringModel model;
+
+    @FunctionalInterface
+    private interface TokenSink {
+        void accept(char[] chars, int length);
+    }
+
+    // Terms in ascending id order with their normalized TF-IDF weights
+    private record SparseVector(int[] index, float[] weight) {}
+
+    @PostConstruct
+    public void load() {
+        if (modelPath == null || modelPath.isBlank()) {
+            logger.info("No resume.scoring.model-path set; resume scoring uses the Flask service");
+            return;
+        }
+        Resource resource = resourceLoader.getResource(modelPath);
+        try (InputStream in = resource.getInputStream()) {
+            long start = System.currentTimeMillis();
+            model = ResumeScoringModel.load(in);
+            logger.info("Loaded resume scoring model ({}, {} features, {} terms) in {} ms",
+                    model.sourceModel, model.idf.length, model.vocabulary.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Could not load resume scoring model from {}: {}; falling back to the Flask service",
+                    modelPath, e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return model != null;
+    }
+
+    /** Same response shape as the Flask service; without a job description only the ML score is used. */
+    public Map<String, Object> score(String resumeText, String jobRole, String jobDescription) {
+        ResumeScoringModel current = model;
+        if (current == null) {
+            throw new IllegalStateException("Resume scoring model is not loaded");
+        }
+        SparseVector resume = vectorize(current, resumeText);
+        double mlScore = 100 * sigmoid(current.intercept + dot(resume, current.coef));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (jobDescription == null || jobDescription.isBlank()) {
+            response.put("resume_score", (int) mlScore);
+            response.put("ml_score", round2(mlScore));
+            response.put("weights_used", Map.of("ml", 1.0));
+        } else {
+            double similarityScore = 100 * cosine(resume, vectorize(current, jobDescription));
+            List<String> suggestions = missingTerms(current, resumeText, jobDescription);
+            double skillScore = Math.max(100 - suggestions.size() * 10, 0); // Penalize for missing skills
+            Map<String, Double> weights = weights(jobRole);
+            double finalScore = weights.get("ml") * mlScore
+                    + weights.get("similarity") * similarityScore
+                    + weights.get("skills") * skillScore;
+
+            response.put("resume_score", (int) finalScore);
+            response.put("ml_score", round2(mlScore));
+            response.put("similarity_score", round2(similarityScore));
+            response.put("skill_score", round2(skillScore));
+            response.put("skill_suggestions", suggestions);
+            response.put("weights_used", weights);
+        }
+        response.put("engine", "jvm");
+        return response;
+    }
+
+    private static SparseVector vectorize(ResumeScoringModel model, String text) {
+        int[][] ids = {new int[256]};
+        int[] count = {0};
+        analyze(model, text, (chars, length) -> {
+            int id = model.vocabulary.get(chars, length);
+            if (id >= 0) {
+                if (count[0] == ids[0].length) {
+                    ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+                }
+                ids[0][count[0]++] = id;
+            }
+        });
+        int[] sorted = ids[0];
+        int n = count[0];
+        Arrays.sort(sorted, 0, n);
+
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                distinct++;
+            }
+        }
+        int[] index = new int[distinct];
+        float[] weight = new float[distinct];
+        double norm = 0;
+        for (int i = 0, d = -1; i < n; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                index[++d] = sorted[i];
+            }
+            weight[d] += model.idf[sorted[i]]; // Raw term count times idf
+        }
+        for (float w : weight) {
+            norm += (double) w * w;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < distinct; i++) {
+                weight[i] *= scale;
+            }
+        }
+        return new SparseVector(index, weight);
+    }
+
+    // Job description terms that never appear in the resume, most frequent first
+    private static List<String> missingTerms(ResumeScoringModel model, String resumeText, String jobDescription) {
+        Map<String, int[]> counts = new LinkedHashMap<>();
+        tokenize(model, jobDescription, (chars, length) ->
+                counts.computeIfAbsent(new String(chars, 0, length), term -> new int[1])[0]++);
+        if (counts.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>(counts.keySet());
+        TermTable lookup = new TermTable(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            lookup.put(terms.get(i), i);
+        }
+        boolean[] present = new boolean[terms.size()];
+        tokenize(model, resumeText, (chars, length) -> {
+            int i = lookup.get(chars, length);
+            if (i >= 0) {
+                present[i] = true;
+            }
+        });
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < terms.size(); i++) {
+            if (!present[i]) {
+                missing.add(terms.get(i));
+            }
+        }
+        missing.sort((a, b) -> counts.get(b)[0] - counts.get(a)[0]); // Stable, so ties keep document order
+        return missing.subList(0, Math.min(MAX_SUGGESTIONS, missing.size()));
+    }
+
+    // TfidfVectorizer's default analyzer: lowercase, then every maximal run of two or more
+    // word characters (token_pattern \b\w\w+\b), minus the vectorizer's stop words if any.
+    // Runs longer than the longest vocabulary term can't be features and are skipped.
+    private static void analyze(ResumeScoringModel model, String text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        char[] token = new char[Math.max(model.maxTermLength, 2)];
+        int length = 0;
+        boolean overflow = false;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (isWordChar(c)) {
+                if (length < token.length) {
+                    token[length++] = c;
+                } else {
+                    overflow = true;
+                }
+            } else {
+                if (length >= 2 && !overflow && model.vectorizerStopWords.get(token, length) < 0) {
+                    sink.accept(token, length);
+                }
+                length = 0;
+                overflow = false;
+            }
+        }
+    }
+
+    // Python's \w on str: Unicode letters and digits plus underscore
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    // preprocess_text in app.py: lowercase, drop everything but a-z and whitespace, split, filter
+    private static void tokenize(ResumeScoringModel model, String text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        char[] token = new char[MAX_TOKEN_LENGTH];
+        int length = 0;
+        boolean overflow = false;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (c >= 'a' && c <= 'z') {
+                if (length < MAX_TOKEN_LENGTH) {
+                    token[length++] = c;
+                } else {
+                    overflow = true;
+                }
+            } else if (Character.isWhitespace(c)) {
+                if (length >= model.minTokenLength && !overflow && model.stopWords.get(token, length) < 0) {
+                    sink.accept(token, length);
+                }
+                length = 0;
+                overflow = false;
+            }
+            // Any other character is removed without splitting the token, as re.sub does
+        }
+    }
+
+    private static double dot(SparseVector vector, float[] dense) {
+        double sum = 0;
+        for (int i = 0; i < vector.index().length; i++) {
+            sum += vector.weight()[i] * dense[vector.index()[i]];
+        }
+        return sum;
+    }
+
+    private static double cosine(SparseVector a, SparseVector b) {
+        double sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.index().length && j < b.index().length) {
+            int diff = a.index()[i] - b.index()[j];
+            if (diff == 0) {
+                sum += a.weight()[i++] * b.weight()[j++];
+            } else if (diff < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum; // Both vectors are unit length
+    }
+
+    // calculate_weights in app.py: senior or long role names lean on similarity over the ML score
+    private static Map<String, Double> weights(String jobRole) {
+        String role = jobRole == null ? "" : jobRole.toLowerCase(Locale.ROOT);
+        boolean complex = role.trim().split("\\s+").length > 2;
+        for (String keyword : new String[] {"senior", "lead", "principal", "manager", "director"}) {
+            complex |= role.contains(keyword);
+        }
+        Map<String, Double> weights = new LinkedHashMap<>();
+        weights.put("ml", complex ? 0.4 : 0.6);
+        weights.put("similarity", complex ? 0.5 : 0.3);
+        weights.put("skills", 0.1);
+        return weights;
+    }
+
+    private static double sigmoid(double x) {
+        return 1 / (1 + Math.exp(-x));
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.freelanceplatform.ai.service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The TF-IDF vocabulary, IDF weights and linear model coefficients written by
+ * resume-parser/export_scoring_model.py, plus two tokenizer configurations: the
+ * vectorizer's analyzer (features for the ML score) and preprocess_text from app.py
+ * (skill suggestions). Only the vectorizer's default token pattern is supported.
+ */
+final class ResumeScoringModel {
+    private static final int FORMAT = 2;
+    static final String DEFAULT_TOKEN_PATTERN = "(?u)\\b\\w\\w+\\b";
+
+    final TermTable vocabulary;
+    final int maxTermLength;
+    final TermTable vectorizerStopWords;
+    final TermTable stopWords;
+    final float[] idf;
+    final float[] coef;
+    final double intercept;
+    final int minTokenLength;
+    final String sourceModel;
+
+    private ResumeScoringModel(TermTable vocabulary, int maxTermLength, TermTable vectorizerStopWords, TermTable stopWords,
+                               float[] idf, float[] coef, double intercept, int minTokenLength, String sourceModel) {
+        this.vocabulary = vocabulary;
+        this.maxTermLength = maxTermLength;
+        this.vectorizerStopWords = vectorizerStopWords;
+        this.stopWords = stopWords;
+        this.idf = idf;
+        this.coef = coef;
+        this.intercept = intercept;
+        this.minTokenLength = minTokenLength;
+        this.sourceModel = sourceModel;
+    }
+
+    static ResumeScoringModel load(InputStream in) throws IOException {
+        JSONObject json = new JSONObject(new JSONTokener(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        if (json.optInt("format") != FORMAT) {
+            throw new IOException("Unsupported scoring model format: " + json.opt("format") + "; re-run export_scoring_model.py");
+        }
+        JSONObject vectorizer = json.getJSONObject("vectorizer");
+        String tokenPattern = vectorizer.getString("token_pattern");
+        if (!DEFAULT_TOKEN_PATTERN.equals(tokenPattern) || !vectorizer.optBoolean("lowercase", true)) {
+            throw new IOException("Unsupported vectorizer analyzer: token_pattern " + tokenPattern
+                    + ", lowercase " + vectorizer.opt("lowercase"));
+        }
+        float[] idf = floats(json.getJSONArray("idf"));
+        float[] coef = floats(json.getJSONArray("coef"));
+        if (coef.length != idf.length) {
+            throw new IOException("Model has " + coef.length + " coefficients for " + idf.length + " features");
+        }
+
+        JSONObject terms = json.getJSONObject("vocabulary");
+        TermTable vocabulary = new TermTable(terms.length());
+        int maxTermLength = 0;
+        for (String term : terms.keySet()) {
+            int index = terms.getInt(term);
+            if (index < 0 || index >= idf.length) {
+                throw new IOException("Vocabulary index out of range for '" + term + "': " + index);
+            }
+            vocabulary.put(term, index);
+            maxTermLength = Math.max(maxTermLength, term.length());
+        }
+
+        JSONObject preprocess = json.getJSONObject("preprocess");
+        return new ResumeScoringModel(vocabulary, maxTermLength,
+                terms(vectorizer.optJSONArray("stop_words")), terms(preprocess.optJSONArray("stop_words")),
+                idf, coef, json.getDouble("intercept"), preprocess.optInt("min_token_length", 3),
+                json.optString("source_model", "unknown"));
+    }
+
+    private static TermTable terms(JSONArray list) {
+        int count = list == null ? 0 : list.length();
+        TermTable table = new TermTable(count);
+        for (int i = 0; i < count; i++) {
+            table.put(list.getString(i), i);
+        }
+        return table;
+    }
+
+    private static float[] floats(JSONArray array) {
+        float[] values = new float[array.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) array.getDouble(i);
+        }
+        return values;
+    }
+}
@@ -1,16 +1,26 @@
 package com.freelanceplatform.ai.service;
 
+import com.freelanceplatform.config.OutboundHttpMetrics;
+import com.freelanceplatform.repository.UserRepository;
+import com.freelanceplatform.services.PdfTextExtractor;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class ResumeScoringService {
@@ -18,29 +28,141 @@ public class ResumeScoringService {
     @Value("${flask.api.url}")
     private String flaskApiUrl;  // Set this in application.properties (Step 3)
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // "jvm" scores in-process with the exported model, "flask" always calls the Python service
+    @Value("${resume.scoring.mode:jvm}")
+    private String scoringMode;
+
+    @Value("${resume.scoring.max-upload-bytes:10485760}")
+    private long maxUploadBytes;
+
+    @Value("${resume.scoring.flask.timeout-ms:60000}")
+    private long flaskTimeoutMs;
+
+    @Autowired
+    private HttpClient outboundHttpClient; // Shared pooled client, see HttpClientConfig
+
+    @Autowired
+    private OutboundHttpMetrics outboundHttpMetrics;
+
+    @Autowired
+    private ResumeScoringEngine resumeScoringEngine;
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Semaphore flaskPermits;
+
+    public ResumeScoringService(@Value("${resume.scoring.flask.max-concurrent:16}") int maxConcurrentUploads) {
+        this.flaskPermits = new Semaphore(maxConcurrentUploads);
+    }
 
     public Map<String, Object> getResumeScore(MultipartFile resumeFile) throws IOException {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-        // Convert file to InputStreamResource
-        ByteArrayResource fileAsResource = new ByteArrayResource(resumeFile.getBytes()) {
-            @Override
-            public String getFilename() {
-                return resumeFile.getOriginalFilename();
+        return getResumeScore(resumeFile, null, null);
+    }
+
+    // In-JVM when the model is loaded, otherwise the Flask service
+    public Map<String, Object> getResumeScore(MultipartFile resumeFile, String jobRole, String jobDescription) throws IOException {
+        if (resumeFile.getSize() > maxUploadBytes) {
+            throw new UploadTooLargeException(resumeFile.getSize(), maxUploadBytes);
+        }
+        if (useEngine()) {
+            return resumeScoringEngine.score(pdfTextExtractor.extract(resumeFile), jobRole, jobDescription);
+        }
+        return getFlaskScore(resumeFile, jobRole, jobDescription);
+    }
+
+    // Scores the text extracted at registration: no upload and no second PDF parse
+    public Map<String, Object> getStoredResumeScore(Long userId, String jobRole, String jobDescription) {
+        if (!useEngine()) {
+            throw new IllegalStateException("Stored resumes can only be scored by the in-JVM engine");
+        }
+        String resumeText = userRepository.findResumeTextById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("No resume on file for user " + userId));
+        return resumeScoringEngine.score(resumeText, jobRole, jobDescription);
+    }
+
+    private boolean useEngine() {
+        return "jvm".equalsIgnoreCase(scoringMode) && resumeScoringEngine.isAvailable();
+    }
+
+    /**
+     * Proxies the upload to Flask without buffering it: the multipart body is the form head,
+     * then the part read straight from Tomcat's temp file, then the tail. The JDK client pulls
+     * file chunks only as the socket accepts them, and the known sizes give a Content-Length,
+     * so each request holds a few small buffers whatever the file size.
+     */
+    private Map<String, Object> getFlaskScore(MultipartFile resumeFile, String jobRole, String jobDescription) throws IOException {
+        String boundary = "----resume-" + UUID.randomUUID();
+        byte[] head = (formField(boundary, "job_role", jobRole)
+                + formField(boundary, "job_description", jobDescription)
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"pdf_doc\"; filename=\"" + safeFilename(resumeFile.getOriginalFilename()) + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+
+        HttpRequest.BodyPublisher file = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return resumeFile.getInputStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }),
+                resumeFile.getSize());
+        URI uri = URI.create(flaskApiUrl + "/process");
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(flaskTimeoutMs))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofByteArray(head),
+                        file,
+                        HttpRequest.BodyPublishers.ofByteArray(tail)))
+                .build();
+
+        // Caps the uploads in flight to Flask; callers past the cap wait instead of opening more streams
+        try {
+            if (!flaskPermits.tryAcquire(flaskTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many resume uploads in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to upload resume", e);
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            HttpResponse<String> response = outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            failed = response.statusCode() >= 500;
+            if (response.statusCode() != 200) {
+                throw new IOException("Scoring service returned HTTP " + response.statusCode());
             }
-        };
+            return new JSONObject(response.body()).toMap();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while uploading resume", e);
+        } finally {
+            flaskPermits.release();
+            outboundHttpMetrics.record(OutboundHttpMetrics.upstream(uri), System.nanoTime() - start, failed);
+        }
+    }
 
-        HttpEntity<ByteArrayResource> requestEntity = new HttpEntity<>(fileAsResource, headers);
+    private static String formField(String boundary, String name, String value) {
+        return "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + (value == null ? "" : value) + "\r\n";
+    }
 
-        ResponseEntity<Map> response = restTemplate.exchange(
-            flaskApiUrl + "/process",
-            HttpMethod.POST,
-            requestEntity,
-            Map.class
-        );
+    // Quotes and line breaks would end the header early
+    private static String safeFilename(String filename) {
+        return filename == null ? "resume.pdf" : filename.replaceAll("[\"\\r\\n]", "_");
+    }
 
-        return response.getBody();
+    public static class UploadTooLargeException extends IOException {
+        public UploadTooLargeException(long size, long limit) {
+            super("Resume is " + size + " bytes; the limit is " + limit);
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.freelanceplatform.ai.service;
+
+/**
+ * Open-addressing map from term to int that can be probed with a char[] slice,
+ * so looking up a token while scanning text doesn't allocate a String for it.
+ */
+final class TermTable {
+    private final String[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    TermTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1; // Load factor <= 0.5
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    void put(String key, int value) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == null) {
+            if (size + 1 > keys.length / 2) {
+                throw new IllegalStateException("TermTable is full");
+            }
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /** Value for the term chars[0..length), or -1 if absent. */
+    int get(char[] chars, int length) {
+        int slot = hash(chars, length) & mask;
+        for (String key = keys[slot]; key != null; key = keys[slot]) {
+            if (matches(key, chars, length)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Same as String.hashCode so both lookups land on the same slot, then spread
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String key, char[] chars, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -13,6 +13,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000") // Your React app's origin
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS") // All needed methods
                 .allowedHeaders("*") // All headers
+                .exposedHeaders("X-Next-Cursor", "ETag", "X-Chat-Session") // Pagination cursor, feed validators, chat session
                 .allowCredentials(true) // For cookies/auth headers
                 .maxAge(3600); // Cache preflight response for 1 hour
     }
@@ -0,0 +1,45 @@
+package com.freelanceplatform.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Entity ids come from pooled sequences (allocationSize 50) so Hibernate can batch
+ * inserts; on MySQL each sequence is emulated by a one-row table. Rows created while
+ * the tables still used AUTO_INCREMENT would collide with a fresh sequence, so before
+ * the server starts taking requests every sequence is moved past its table's max(id).
+ */
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceAligner.class);
+    private static final int ALLOCATION_SIZE = 50;
+
+    // sequence table -> entity table
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "jobs_seq", "jobs",
+            "fraud_reports_seq", "fraud_reports",
+            "quizzes_seq", "quizzes");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // The pooled optimizer hands out (next_val - 49 .. next_val], so next_val must be max(id) + 50
+        SEQUENCES.forEach((sequence, table) -> {
+            try {
+                jdbcTemplate.update("update " + sequence + " set next_val = greatest(next_val, " +
+                        "(select coalesce(max(id), 0) + " + ALLOCATION_SIZE + " from " + table + "))");
+            } catch (Exception e) {
+                logger.warn("Could not align {} with {}: {}", sequence, table, e.getMessage());
+            }
+        });
+    }
+}
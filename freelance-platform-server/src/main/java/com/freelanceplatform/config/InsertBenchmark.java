@@ -0,0 +1,95 @@
+package com.freelanceplatform.config;
+
+import com.freelanceplatform.model.Job;
+import com.freelanceplatform.model.User;
+import com.freelanceplatform.repository.JobRepository;
+import com.freelanceplatform.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Measures insert throughput for users and jobs, then deletes the rows it wrote.
+ * Compare the batched settings against the defaults by starting the server with
+ *   --spring.profiles.active=benchmark       (no JDBC batching)
+ *   --spring.profiles.active=prod,benchmark  (batch_size, ordered inserts, rewriteBatchedStatements)
+ * The benchmark profile turns off show-sql and DEBUG logging, so both runs log alike and
+ * only the batching settings differ.
+ */
+@Component
+@Profile("benchmark")
+public class InsertBenchmark implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(InsertBenchmark.class);
+
+    @Value("${benchmark.rows:5000}")
+    private int rows;
+
+    @Value("${benchmark.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:0}")
+    private int jdbcBatchSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Override
+    public void run(String... args) {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        logger.info("Insert benchmark: {} rows per entity, chunks of {}, hibernate.jdbc.batch_size={}",
+                rows, chunkSize, jdbcBatchSize);
+
+        List<Long> userIds = measure("users", i -> {
+            User user = new User();
+            user.setName("Benchmark User " + i);
+            user.setEmail("bench-" + runId + "-" + i + "@example.com");
+            user.setPhone("0000000000");
+            user.setSkills("Java, Spring, SQL");
+            user.setRole("FREELANCER");
+            return user;
+        }, userRepository::saveAll, User::getId);
+        userRepository.deleteAllByIdInBatch(userIds);
+
+        List<Long> jobIds = measure("jobs", i -> {
+            Job job = new Job();
+            job.setTitle("Benchmark Job " + i);
+            job.setDescription("Insert benchmark row " + runId);
+            job.setClientId(0L);
+            job.setStatus("OPEN");
+            job.setBudget(100);
+            return job;
+        }, jobRepository::saveAll, Job::getId);
+        jobRepository.deleteAllByIdInBatch(jobIds);
+    }
+
+    private <T> List<Long> measure(String label, IntFunction<T> factory,
+                                   Function<List<T>, List<T>> saveAll,
+                                   Function<T, Long> id) {
+        List<Long> ids = new ArrayList<>(rows);
+        long start = System.nanoTime();
+        for (int from = 0; from < rows; from += chunkSize) {
+            List<T> chunk = new ArrayList<>(chunkSize);
+            for (int i = from; i < Math.min(from + chunkSize, rows); i++) {
+                chunk.add(factory.apply(i));
+            }
+            for (T saved : saveAll.apply(chunk)) {
+                ids.add(id.apply(saved));
+            }
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Inserted {} {} in {} ms ({} rows/s)", rows, label, millis, rows * 1000L / millis);
+        return ids;
+    }
+}
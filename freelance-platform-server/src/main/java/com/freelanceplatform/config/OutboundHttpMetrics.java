@@ -0,0 +1,80 @@
+package com.freelanceplatform.config;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-upstream (host:port) request counters for the shared outbound client:
+ * calls, failures (I/O errors and 5xx) and latency.
+ */
+@Component
+public class OutboundHttpMetrics implements ClientHttpRequestInterceptor {
+
+    private final Map<String, UpstreamStats> upstreams = new ConcurrentHashMap<>();
+
+    private static class UpstreamStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String upstream = upstream(request.getURI());
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = response.getStatusCode().is5xxServerError();
+            return response;
+        } finally {
+            record(upstream, System.nanoTime() - start, failed);
+        }
+    }
+
+    // URIs without an explicit port report -1; key them by the scheme's default port so
+    // https://host and https://host:443 share one entry
+    public static String upstream(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getHost() + ":" + port;
+    }
+
+    public void record(String upstream, long elapsedNanos, boolean failed) {
+        UpstreamStats stats = upstreams.computeIfAbsent(upstream, key -> new UpstreamStats());
+        stats.calls.increment();
+        if (failed) {
+            stats.failures.increment();
+        }
+        stats.totalNanos.add(elapsedNanos);
+        stats.maxNanos.accumulate(elapsedNanos);
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        upstreams.forEach((upstream, stats) -> {
+            long calls = stats.calls.sum();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("calls", calls);
+            values.put("failures", stats.failures.sum());
+            values.put("avgMillis", calls == 0 ? 0 : stats.totalNanos.sum() / calls / 1_000_000.0);
+            values.put("maxMillis", stats.maxNanos.get() / 1_000_000.0);
+            result.put(upstream, values);
+        });
+        return result;
+    }
+}
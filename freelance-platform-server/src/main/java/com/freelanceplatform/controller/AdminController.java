@@ -1,6 +1,18 @@
 package com.freelanceplatform.controller;
 
-import com.freelanceplatform.model.User;
+import com.freelanceplatform.ai.GeminiResponseCache;
+import com.freelanceplatform.config.OutboundHttpMetrics;
+import com.freelanceplatform.model.AnalyticsSnapshot;
+import com.freelanceplatform.model.QuizAnswers;
+import com.freelanceplatform.model.QuizGrade;
+import com.freelanceplatform.model.RollupSeries;
+import com.freelanceplatform.model.UserSummary;
+import com.freelanceplatform.services.AnalyticsService;
+import com.freelanceplatform.services.AuthTokenService;
+import com.freelanceplatform.services.JobEventHub;
+import com.freelanceplatform.services.MetricsRollupStore;
+import com.freelanceplatform.services.QuizService;
+import com.freelanceplatform.services.SemanticMatchingService;
 import com.freelanceplatform.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,6 +34,30 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private OutboundHttpMetrics outboundHttpMetrics;
+
+    @Autowired
+    private GeminiResponseCache geminiResponseCache;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MetricsRollupStore metricsRollupStore;
+
+    @Autowired
+    private JobEventHub jobEventHub;
+
+    @Autowired
+    private SemanticMatchingService semanticMatchingService;
+
     @PostMapping("/login/admin")
     public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginData) {
         String email = loginData.get("email");
@@ -39,26 +75,30 @@ public class AdminController {
     }
 
     @GetMapping("/freelancers")
-    public ResponseEntity<List<User>> getFreelancers(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<List<UserSummary>> getFreelancers(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
         if (!isAdminAuthenticated(authHeader)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
         try {
-            List<User> freelancers = userService.getFreelancers();
-            return ResponseEntity.ok(freelancers);
+            return CursorResponses.ok(userService.getFreelancers(null, afterId, limit));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
     @GetMapping("/clients")
-    public ResponseEntity<List<User>> getClients(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<List<UserSummary>> getClients(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
         if (!isAdminAuthenticated(authHeader)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
         try {
-            List<User> clients = userService.getClients();
-            return ResponseEntity.ok(clients);
+            return CursorResponses.ok(userService.getClients(null, afterId, limit));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
@@ -81,6 +121,93 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/quiz/grade")
+    public ResponseEntity<List<QuizGrade>> gradeQuizzes(
+            @RequestBody List<QuizAnswers> submissions,
+            @RequestHeader("Authorization") String authHeader) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(quizService.gradeAll(submissions));
+    }
+
+    // Served from in-memory counters; no database query per call
+    @GetMapping("/analytics")
+    public ResponseEntity<AnalyticsSnapshot> getAnalytics(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(defaultValue = "10") int topSkills) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(analyticsService.snapshot(topSkills));
+    }
+
+    // Trend series for REGISTRATIONS, JOBS_POSTED, PAYMENTS or FRAUD_REPORTS over [from, to) in epoch millis.
+    // Defaults to the last 24 hours; granularity defaults to MINUTE for spans up to 6 hours, HOUR beyond.
+    @GetMapping("/metrics/{metric}")
+    public ResponseEntity<?> getMetricSeries(
+            @PathVariable String metric,
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) String granularity) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        try {
+            long end = to == null ? System.currentTimeMillis() : to;
+            long start = from == null ? end - 24 * 3_600_000L : from;
+            MetricsRollupStore.Granularity bucket = granularity != null
+                    ? MetricsRollupStore.Granularity.valueOf(granularity.toUpperCase())
+                    : end - start <= 6 * 3_600_000L ? MetricsRollupStore.Granularity.MINUTE : MetricsRollupStore.Granularity.HOUR;
+            RollupSeries series = metricsRollupStore.query(
+                    MetricsRollupStore.Metric.valueOf(metric.toUpperCase()), bucket, start, end);
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/auth-cache")
+    public ResponseEntity<Map<String, Object>> getAuthCacheStats(@RequestHeader("Authorization") String authHeader) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(authTokenService.getCacheStats());
+    }
+
+    @GetMapping("/http-metrics")
+    public ResponseEntity<Map<String, Map<String, Object>>> getHttpMetrics(@RequestHeader("Authorization") String authHeader) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(outboundHttpMetrics.snapshot());
+    }
+
+    @GetMapping("/gemini-cache")
+    public ResponseEntity<Map<String, Object>> getGeminiCacheStats(@RequestHeader("Authorization") String authHeader) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(geminiResponseCache.getStats());
+    }
+
+    @GetMapping("/job-events")
+    public ResponseEntity<Map<String, Object>> getJobEventStats(@RequestHeader("Authorization") String authHeader) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(jobEventHub.getStats());
+    }
+
+    @GetMapping("/semantic-index")
+    public ResponseEntity<Map<String, Object>> getSemanticIndexStats(@RequestHeader("Authorization") String authHeader) {
+        if (!isAdminAuthenticated(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(semanticMatchingService.getStats());
+    }
+
     private boolean isAdminAuthenticated(String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             return false;
@@ -1,37 +1,125 @@
 package com.freelanceplatform.controller;
 
+import com.freelanceplatform.ai.AiRequestExecutor;
 import com.freelanceplatform.ai.ChatbotGeminiService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/chatbot")
-@CrossOrigin(origins = "http://localhost:3000") // Frontend access
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = ChatbotController.SESSION_HEADER) // Frontend access
 public class ChatbotController {
+    // Identifies a conversation; issued on the first query and echoed back by the client
+    static final String SESSION_HEADER = "X-Chat-Session";
 
     @Autowired
     private ChatbotGeminiService chatbotGeminiService;
 
+    @Autowired
+    private AiRequestExecutor aiRequestExecutor;
+
+    @Value("${chatbot.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+
     // Text query handling
     @PostMapping("/text")
-    public String getResponse(@RequestBody String query) {
+    public CompletableFuture<ResponseEntity<String>> getResponse(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionHeader,
+            @RequestBody String query) {
+        String sessionId = sessionId(sessionHeader);
         if (query == null || query.trim().isEmpty()) {
-            return "Error: Query cannot be empty!";
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.ok().header(SESSION_HEADER, sessionId).body("Error: Query cannot be empty!"));
+        }
+        return aiRequestExecutor.supply(() -> ResponseEntity.ok()
+                .header(SESSION_HEADER, sessionId)
+                .body(chatbotGeminiService.getChatbotResponse(sessionId, query)));
+    }
+
+    // Token-by-token answer as SSE: "token" events carry {"text": ...}, then "done" or "error".
+    // If the browser disconnects, the upstream Gemini stream is closed at its next chunk.
+    @PostMapping(path = "/text/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamResponse(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionHeader,
+            @RequestBody String query) {
+        String sessionId = sessionId(sessionHeader);
+        ResponseEntity<SseEmitter> response = ResponseEntity.ok()
+                .header(SESSION_HEADER, sessionId)
+                .body(new SseEmitter(streamTimeoutMs));
+        SseEmitter emitter = response.getBody();
+        if (query == null || query.trim().isEmpty()) {
+            sendAndComplete(emitter, "error", "Error: Query cannot be empty!");
+            return response;
+        }
+        AtomicBoolean cancelled = new AtomicBoolean();
+        emitter.onCompletion(() -> cancelled.set(true));
+        emitter.onTimeout(() -> cancelled.set(true));
+        emitter.onError(e -> cancelled.set(true));
+
+        aiRequestExecutor.supply(() -> {
+            try {
+                boolean finished = chatbotGeminiService.streamChatbotResponse(sessionId, query, text -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("token").data(Map.of("text", text), MediaType.APPLICATION_JSON));
+                    } catch (Exception e) {
+                        cancelled.set(true); // Client went away
+                    }
+                }, cancelled::get);
+                if (finished) {
+                    sendAndComplete(emitter, "done", "");
+                }
+            } catch (Exception e) {
+                System.err.println("Chatbot stream failed: " + e.getMessage());
+                sendAndComplete(emitter, "error", "Error: " + e.getMessage());
+            }
+            return null;
+        });
+        return response;
+    }
+
+    // Forget a conversation, e.g. when the user starts a new chat
+    @DeleteMapping("/session/{sessionId}")
+    public ResponseEntity<Void> clearSession(@PathVariable String sessionId) {
+        chatbotGeminiService.clearConversation(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Client-supplied ids are kept only if they look like ours, so they can't be used to bloat the store keys
+    private static String sessionId(String header) {
+        if (header != null && header.length() <= 64 && header.matches("[A-Za-z0-9-]+")) {
+            return header;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private static void sendAndComplete(SseEmitter emitter, String name, String text) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(Map.of("text", text), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (Exception e) {
+            // Already closed
         }
-        return chatbotGeminiService.getChatbotResponse(query); 
     }
 
     // File upload handling
     @PostMapping("/file")
-    public String getResponseFromFile(@RequestParam("file") MultipartFile file) {
+    public CompletableFuture<String> getResponseFromFile(@RequestParam("file") MultipartFile file) {
         if (file.isEmpty()) {
-            return "Error: No file uploaded!";
+            return CompletableFuture.completedFuture("Error: No file uploaded!");
         }
 
         try {
@@ -42,9 +130,9 @@ public class ChatbotController {
                     .collect(Collectors.joining("\n"));
 
             // Send file content to Gemini
-            return chatbotGeminiService.getChatbotResponseFromFile(content);
+            return aiRequestExecutor.supply(() -> chatbotGeminiService.getChatbotResponseFromFile(content));
         } catch (Exception e) {
-            return "Error processing file: " + e.getMessage();
+            return CompletableFuture.completedFuture("Error processing file: " + e.getMessage());
         }
     }
 }
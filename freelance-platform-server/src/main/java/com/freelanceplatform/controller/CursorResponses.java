@@ -0,0 +1,25 @@
+package com.freelanceplatform.controller;
+
+import com.freelanceplatform.model.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class CursorResponses {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {}
+
+    // Body stays a plain JSON array; the cursor for the next page travels in a header
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        return okBuilder(page).body(page.items());
+    }
+
+    static ResponseEntity.BodyBuilder okBuilder(CursorPage<?> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return builder;
+    }
+}
@@ -1,6 +1,9 @@
 package com.freelanceplatform.controller;
 
 import com.freelanceplatform.model.FraudReport;
+import com.freelanceplatform.model.FraudRiskEntry;
+import com.freelanceplatform.model.FraudUserCount;
+import com.freelanceplatform.services.AuthTokenService;
 import com.freelanceplatform.services.FraudReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,35 +19,89 @@ public class FraudReportController {
     @Autowired
     private FraudReportService fraudReportService;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
     @PostMapping("/report")
     public ResponseEntity<FraudReport> reportFraud(
             @RequestHeader("Authorization") String token,
             @RequestBody FraudReport fraudReport) {
         try {
-            FraudReport savedReport = fraudReportService.reportFraud(fraudReport, token);
+            FraudReport savedReport = fraudReportService.reportFraud(fraudReport, authTokenService.resolve(token));
             return ResponseEntity.ok(savedReport);
         } catch (SecurityException e) {
             System.err.println("Unauthorized access in reportFraud: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid fraud report: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         } catch (Exception e) {
             System.err.println("Error in reportFraud: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    // Newest first; pass X-Next-Cursor back as beforeId for the next page
     @GetMapping("/reports")
-    public ResponseEntity<List<FraudReport>> getAllFraudReports(
-            @RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<FraudReport>> getFraudReports(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long reportedUserId,
+            @RequestParam(required = false) Long reporterId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<FraudReport> reports = fraudReportService.getAllFraudReports(token);
-            // Return OK with null body if no reports exist
-            return ResponseEntity.ok(reports); // reports can be null
+            return CursorResponses.ok(fraudReportService.getFraudReports(
+                    authTokenService.resolve(token), status, reportedUserId, reporterId, beforeId, limit));
         } catch (SecurityException e) {
             System.err.println("Unauthorized access to fraud reports: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
         } catch (Exception e) {
-            System.err.println("Error in getAllFraudReports: " + e.getMessage());
+            System.err.println("Error in getFraudReports: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
-}
\ No newline at end of file
+
+    // Report totals per reported user in user id order; pass X-Next-Cursor back as afterUserId
+    @GetMapping("/reports/users")
+    public ResponseEntity<List<FraudUserCount>> getReportCountsPerUser(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(required = false) Long afterUserId,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return CursorResponses.ok(fraudReportService.getReportCountsPerUser(authTokenService.resolve(token), afterUserId, limit));
+        } catch (SecurityException e) {
+            System.err.println("Unauthorized access to fraud report counts: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        }
+    }
+
+    // Reported users by descending risk score; pass X-Next-Cursor back as afterUserId
+    @GetMapping("/queue")
+    public ResponseEntity<List<FraudRiskEntry>> getRiskQueue(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(required = false) Long afterUserId,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return CursorResponses.ok(fraudReportService.getRiskQueue(authTokenService.resolve(token), afterUserId, limit));
+        } catch (SecurityException e) {
+            System.err.println("Unauthorized access to fraud queue: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        }
+    }
+
+    @PutMapping("/users/{reportedUserId}/status")
+    public ResponseEntity<Integer> closeReports(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long reportedUserId,
+            @RequestParam String status) {
+        try {
+            return ResponseEntity.ok(fraudReportService.closeReports(authTokenService.resolve(token), reportedUserId, status));
+        } catch (SecurityException e) {
+            System.err.println("Unauthorized fraud report update: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+}
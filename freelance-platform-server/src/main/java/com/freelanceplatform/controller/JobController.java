@@ -1,11 +1,24 @@
 package com.freelanceplatform.controller;
 
+import com.freelanceplatform.model.CursorPage;
+import com.freelanceplatform.model.FreelancerMatch;
 import com.freelanceplatform.model.Job;
+import com.freelanceplatform.model.JobFeedFilter;
+import com.freelanceplatform.services.AuthPrincipal;
+import com.freelanceplatform.services.AuthTokenService;
+import com.freelanceplatform.services.JobEventHub;
 import com.freelanceplatform.services.JobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -15,26 +28,117 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private JobEventHub jobEventHub;
+
     @PostMapping
     public Job postJob(@RequestBody Job job, @RequestHeader("Authorization") String token) {
         // freelancerId is now part of the Job object in the request body
-        return jobService.postJob(job, token);
+        return jobService.postJob(job, authTokenService.resolve(token));
     }
 
     @GetMapping
-    public List<Job> getJobs() {
-        return jobService.getAllJobs();
+    public ResponseEntity<List<Job>> getJobs(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minBudget,
+            @RequestParam(required = false) Double maxBudget,
+            @RequestParam(required = false) String deadlineBefore,
+            @RequestParam(required = false) Boolean paid,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Integer limit) {
+        JobFeedFilter filter = new JobFeedFilter(status, minBudget, maxBudget, deadlineBefore, paid);
+        CursorPage<Job> page = jobService.getJobFeed(filter, beforeId, limit);
+        // Spring answers If-None-Match with 304 when this ETag matches, so pollers skip the body
+        return CursorResponses.okBuilder(page).eTag(feedETag(page)).body(page.items());
+    }
+
+    // Every save and transition bumps a job's @Version, so the page's id:version pairs plus
+    // its cursor change whenever the response body would
+    private static String feedETag(CursorPage<Job> page) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Job job : page.items()) {
+                digest.update((job.getId() + ":" + job.getVersion() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(("next:" + page.nextCursor()).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Single-use ticket for opening the event stream, since EventSource can't set headers
+    @PostMapping("/events/ticket")
+    public ResponseEntity<Map<String, String>> issueEventTicket(@RequestHeader("Authorization") String token) {
+        try {
+            AuthPrincipal principal = authTokenService.resolve(token);
+            return ResponseEntity.ok(Map.of("ticket", jobEventHub.issueTicket(principal.id())));
+        } catch (Exception e) {
+            return ResponseEntity.status(403).build();
+        }
+    }
+
+    // Pushes changes to the caller's jobs; opened with a ticket from /events/ticket
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToJobEvents(@RequestParam("ticket") String ticket) {
+        Long userId = jobEventHub.redeemTicket(ticket);
+        if (userId == null) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(jobEventHub.subscribe(userId));
+    }
+
+    @GetMapping("/search")
+    public List<Job> searchJobs(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false) Integer limit) {
+        return jobService.searchJobs(q, skills, limit);
+    }
+
+    @GetMapping("/{jobId}/recommended-freelancers")
+    public ResponseEntity<List<FreelancerMatch>> recommendFreelancers(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "skills") String mode, // "skills" or "semantic"
+            @RequestHeader("Authorization") String token) {
+        try {
+            return ResponseEntity.ok(jobService.recommendFreelancers(jobId, limit, "semantic".equalsIgnoreCase(mode), authTokenService.resolve(token)));
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(null);
+        }
+    }
+
+    @GetMapping("/freelancer/{freelancerId}/recommended-jobs")
+    public ResponseEntity<List<Job>> recommendJobs(
+            @PathVariable Long freelancerId,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("Authorization") String token) {
+        try {
+            return ResponseEntity.ok(jobService.recommendJobs(freelancerId, limit, authTokenService.resolve(token)));
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(null);
+        }
     }
 
     @PutMapping("/{id}/assign")
-    public Job assignFreelancer(@PathVariable Long id, @RequestParam Long freelancerId, @RequestHeader("Authorization") String token) {
-        return jobService.assignFreelancer(id, freelancerId, token);
+    public ResponseEntity<Job> assignFreelancer(@PathVariable Long id, @RequestParam Long freelancerId, @RequestHeader("Authorization") String token) {
+        try {
+            return ResponseEntity.ok(jobService.assignFreelancer(id, freelancerId, authTokenService.resolve(token)));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null); // A transition updated the job since it was read
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(null);
+        }
     }
 
     @GetMapping("/freelancer/{freelancerId}")
     public ResponseEntity<List<Job>> getFreelancerJobs(@PathVariable Long freelancerId, @RequestHeader("Authorization") String token) {
         try {
-            List<Job> jobs = jobService.getJobsByFreelancer(freelancerId, token);
+            List<Job> jobs = jobService.getJobsByFreelancer(freelancerId, authTokenService.resolve(token));
             return ResponseEntity.ok(jobs);
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
@@ -44,7 +148,7 @@ public class JobController {
     @GetMapping("/client")
     public ResponseEntity<List<Job>> getClientJobs(@RequestHeader("Authorization") String token) {
         try {
-            List<Job> jobs = jobService.getJobsByClient(token);
+            List<Job> jobs = jobService.getJobsByClient(authTokenService.resolve(token));
             return ResponseEntity.ok(jobs);
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
@@ -54,8 +158,10 @@ public class JobController {
     @PutMapping("/{jobId}/price")
     public ResponseEntity<Job> setJobPrice(@PathVariable Long jobId, @RequestBody Map<String, String> priceData, @RequestHeader("Authorization") String token) {
         try {
-            Job job = jobService.setPrice(jobId, Integer.parseInt(priceData.get("price")), token);
+            Job job = jobService.setPrice(jobId, Integer.parseInt(priceData.get("price")), authTokenService.resolve(token));
             return ResponseEntity.ok(job);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null); // Job changed state concurrently or move not allowed
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
         }
@@ -64,8 +170,10 @@ public class JobController {
     @PutMapping("/{jobId}/payment")
     public ResponseEntity<Job> updatePaymentStatus(@PathVariable Long jobId, @RequestBody Map<String, Boolean> paymentData, @RequestHeader("Authorization") String token) {
         try {
-            Job job = jobService.updatePaymentStatus(jobId, paymentData.get("paid"), token);
+            Job job = jobService.updatePaymentStatus(jobId, paymentData.get("paid"), authTokenService.resolve(token));
             return ResponseEntity.ok(job);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
         }
@@ -73,7 +181,7 @@ public class JobController {
     @DeleteMapping("/{jobId}")
     public ResponseEntity<Void> deleteJob(@PathVariable Long jobId, @RequestHeader("Authorization") String token) {
         try {
-            jobService.deleteJob(jobId, token);
+            jobService.deleteJob(jobId, authTokenService.resolve(token));
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(403).build();
@@ -83,8 +191,10 @@ public class JobController {
     @PutMapping("/{jobId}")
     public ResponseEntity<Job> editJob(@PathVariable Long jobId, @RequestBody Job updatedJob, @RequestHeader("Authorization") String token) {
         try {
-            Job job = jobService.editJob(jobId, updatedJob, token);
+            Job job = jobService.editJob(jobId, updatedJob, authTokenService.resolve(token));
             return ResponseEntity.ok(job);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
         }
@@ -92,8 +202,10 @@ public class JobController {
     @PutMapping("/{jobId}/complete")
     public ResponseEntity<Job> completeJob(@PathVariable Long jobId, @RequestHeader("Authorization") String token) {
         try {
-            Job job = jobService.completeJob(jobId, token);
+            Job job = jobService.completeJob(jobId, authTokenService.resolve(token));
             return ResponseEntity.ok(job);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
         }
@@ -103,8 +215,10 @@ public class JobController {
     @PutMapping("/{jobId}/accept")
     public ResponseEntity<Job> acceptJob(@PathVariable Long jobId, @RequestHeader("Authorization") String token) {
         try {
-            Job job = jobService.acceptJob(jobId, token);
+            Job job = jobService.acceptJob(jobId, authTokenService.resolve(token));
             return ResponseEntity.ok(job);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
         }
@@ -113,8 +227,10 @@ public class JobController {
     @PutMapping("/{jobId}/ignore")
     public ResponseEntity<Job> ignoreJob(@PathVariable Long jobId, @RequestHeader("Authorization") String token) {
         try {
-            Job job = jobService.ignoreJob(jobId, token);
+            Job job = jobService.ignoreJob(jobId, authTokenService.resolve(token));
             return ResponseEntity.ok(job);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(403).body(null);
         }
@@ -1,20 +1,27 @@
 package com.freelanceplatform.controller;
 
+import com.freelanceplatform.ai.AiRequestExecutor;
+import com.freelanceplatform.model.BulkImportResult;
+import com.freelanceplatform.model.OnboardingTicket;
 import com.freelanceplatform.model.User;
+import com.freelanceplatform.model.UserCard;
+import com.freelanceplatform.model.UserSummary;
+import com.freelanceplatform.services.AuthTokenService;
+import com.freelanceplatform.services.BulkImportService;
+import com.freelanceplatform.services.OnboardingService;
 import com.freelanceplatform.services.UserService;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Date;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,9 +29,55 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private AiRequestExecutor aiRequestExecutor;
+
+    @Autowired
+    private OnboardingService onboardingService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
     @PostMapping("/register/freelancer")
-    public User registerFreelancer(@RequestParam("file") MultipartFile file) {
-        return userService.registerFreelancer(file);
+    public CompletableFuture<User> registerFreelancer(@RequestParam("file") MultipartFile file) {
+        return aiRequestExecutor.supply(() -> userService.registerFreelancer(file));
+    }
+
+    // Returns a ticket immediately; extraction, parsing and the insert run on the onboarding workers
+    @PostMapping("/register/freelancer/async")
+    public ResponseEntity<?> registerFreelancerAsync(@RequestParam("file") MultipartFile file) {
+        try {
+            OnboardingTicket ticket = onboardingService.submit(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error: " + e.getMessage());
+        }
+    }
+
+    // Accepts a ZIP of PDFs and/or several PDF parts under "files"; the result lists every file
+    @PostMapping("/register/freelancer/bulk")
+    public CompletableFuture<BulkImportResult> registerFreelancersBulk(@RequestParam("files") List<MultipartFile> files) {
+        return aiRequestExecutor.supply(() -> {
+            try {
+                return bulkImportService.importResumes(files);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @GetMapping("/register/freelancer/status/{ticketId}")
+    public ResponseEntity<OnboardingTicket> getRegistrationStatus(@PathVariable String ticketId) {
+        try {
+            return ResponseEntity.ok(onboardingService.getTicket(ticketId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
     }
 
     @PostMapping("/register/client")
@@ -33,17 +86,17 @@ public class UserController {
     }
 
     @GetMapping("/quiz/{userId}")
-    public String generateQuiz(@PathVariable Long userId) {
-        return userService.generateQuiz(userId);
+    public CompletableFuture<String> generateQuiz(@PathVariable Long userId) {
+        return aiRequestExecutor.supply(() -> userService.generateQuiz(userId));
     }
 
+    // Graded in-process against the stored answer key, so this stays on the request thread
     @PostMapping("/quiz/{userId}")
     public ResponseEntity<?> submitQuiz(@PathVariable Long userId, @RequestBody QuizSubmission submission) {
         try {
             System.out.println("Received userId: " + userId);
-            System.out.println("Received quiz: " + submission.getQuiz());
             System.out.println("Received answers: " + submission.getAnswers());
-            boolean passed = userService.evaluateQuiz(userId, submission.getQuiz(), submission.getAnswers());
+            boolean passed = userService.evaluateQuiz(userId, submission.getQuizId(), submission.getAnswers());
             System.out.println("Quiz evaluation result: " + passed);
             return ResponseEntity.ok(new QuizResult(passed));
         } catch (Exception e) {
@@ -58,6 +111,11 @@ public class UserController {
         return userService.getUser(id);
     }
 
+    @GetMapping("/{id}/card")
+    public UserCard getUserCard(@PathVariable Long id) {
+        return userService.getUserCard(id);
+    }
+
     @PostMapping("/freelancers/{userId}")
     public ResponseEntity<User> updateFreelancerDetails(
             @PathVariable Long userId,
@@ -72,10 +130,10 @@ public class UserController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
-            User user = userService.authenticate(loginRequest.getEmail(), loginRequest.getPassword());
+            UserSummary user = userService.authenticate(loginRequest.getEmail(), loginRequest.getPassword());
             if (user != null) {
                 // Generate JWT token
-                String token = generateJwtToken(user);
+                String token = authTokenService.generateToken(user.id());
                 return ResponseEntity.ok(new LoginResponse(user, token)); // Return user and token
             }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
@@ -85,28 +143,18 @@ public class UserController {
         }
     }
 
-    private String generateJwtToken(User user) {
-        return Jwts.builder()
-                .setSubject(String.valueOf(user.getId()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 1 day expiry
-                .signWith(SignatureAlgorithm.HS512,"your-secret-key" ) // Use the same secret as in JobService
-                .compact();
-    }
-
+    // q narrows the page to names or emails starting with it, for the freelancer picker
     @GetMapping("/freelancers")
-    public ResponseEntity<List<User>> getFreelancers(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<UserSummary>> getFreelancers(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
         try {
-            // Remove "Bearer " prefix from the token
-            String jwtToken = token.startsWith("Bearer ") ? token.substring(7) : token;
-
-            // Validate the token
-            Jwts.parser()
-                .setSigningKey("your-secret-key") // Use the same secret key as in generateJwtToken
-                .parseClaimsJws(jwtToken);
+            // Validate the token (cached after the first verification)
+            authTokenService.resolve(token);
 
-            List<User> freelancers = userService.getFreelancers();
-            return ResponseEntity.ok(freelancers);
+            return CursorResponses.ok(userService.getFreelancers(q, afterId, limit));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
@@ -114,10 +162,35 @@ public class UserController {
     }
 
     @GetMapping("/clients")
-    public ResponseEntity<List<User>> getClients(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<UserSummary>> getClients(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return CursorResponses.ok(userService.getClients(null, afterId, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+    }
+
+    @GetMapping("/freelancers/count")
+    public ResponseEntity<Map<String, Long>> countFreelancers(@RequestHeader("Authorization") String token) {
+        try {
+            authTokenService.resolve(token);
+            return ResponseEntity.ok(Map.of("count", userService.countFreelancers()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+    }
+
+    // Name cards for a handful of ids (at most one page), so a dashboard can label its jobs
+    @GetMapping("/cards")
+    public ResponseEntity<List<UserCard>> getUserCards(
+            @RequestHeader("Authorization") String token,
+            @RequestParam List<Long> ids) {
         try {
-            List<User> clients = userService.getClients();
-            return ResponseEntity.ok(clients);
+            authTokenService.resolve(token);
+            return ResponseEntity.ok(userService.getUserCards(ids));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
@@ -136,11 +209,11 @@ class LoginRequest {
 }
 
 class QuizSubmission {
-    private String quiz;
+    private Long quizId;
     private String answers;
 
-    public String getQuiz() { return quiz; }
-    public void setQuiz(String quiz) { this.quiz = quiz; }
+    public Long getQuizId() { return quizId; }
+    public void setQuizId(Long quizId) { this.quizId = quizId; }
     public String getAnswers() { return answers; }
     public void setAnswers(String answers) { this.answers = answers; }
 }
@@ -153,16 +226,16 @@ class QuizResult {
     public void setPassed(boolean passed) { this.passed = passed; }
 }
 class LoginResponse {
-    private User user;
+    private UserSummary user;
     private String token;
 
-    public LoginResponse(User user, String token) {
+    public LoginResponse(UserSummary user, String token) {
         this.user = user;
         this.token = token;
     }
 
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
+    public UserSummary getUser() { return user; }
+    public void setUser(UserSummary user) { this.user = user; }
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 }
\ No newline at end of file
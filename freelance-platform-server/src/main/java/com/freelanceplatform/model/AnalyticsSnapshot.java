@@ -0,0 +1,11 @@
+package com.freelanceplatform.model;
+
+import java.util.List;
+import java.util.Map;
+
+public record AnalyticsSnapshot(long totalUsers,
+                                Map<String, Long> usersByRole,
+                                long totalJobs,
+                                Map<String, Long> jobsByStatus,
+                                List<SkillCount> topSkills) {
+}
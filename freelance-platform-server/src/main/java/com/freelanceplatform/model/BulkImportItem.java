@@ -0,0 +1,5 @@
+package com.freelanceplatform.model;
+
+// Outcome for one resume in a bulk import; userId is set only when status is IMPORTED
+public record BulkImportItem(String fileName, String status, Long userId, String error) {
+}
@@ -0,0 +1,14 @@
+package com.freelanceplatform.model;
+
+import java.util.List;
+
+public record BulkImportResult(List<BulkImportItem> items,
+                               int files,
+                               int imported,
+                               int failed,
+                               long extractMillis,
+                               long parseMillis,
+                               long insertMillis,
+                               long totalMillis,
+                               double resumesPerSecond) {
+}
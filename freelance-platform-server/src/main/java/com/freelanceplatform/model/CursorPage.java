@@ -0,0 +1,29 @@
+package com.freelanceplatform.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is the id to pass as
+ * afterId for the following page, or null when this is the last page.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // Callers fetch limit + 1 rows; the extra row only tells us another page exists
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Long> cursorOf) {
+        if (fetched.size() > limit) {
+            List<T> items = fetched.subList(0, limit);
+            return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+        }
+        return new CursorPage<>(fetched, null);
+    }
+}
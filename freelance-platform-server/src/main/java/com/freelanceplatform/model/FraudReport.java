@@ -3,10 +3,15 @@ package com.freelanceplatform.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "fraud_reports")
+@Table(name = "fraud_reports", indexes = {
+        @Index(name = "idx_fraud_reports_status_id", columnList = "status, id"),
+        @Index(name = "idx_fraud_reports_reported_user_id", columnList = "reported_user_id, id"),
+        @Index(name = "idx_fraud_reports_reporter_id", columnList = "reporter_id, id")
+})
 public class FraudReport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fraud_reports_seq")
+    @SequenceGenerator(name = "fraud_reports_seq", sequenceName = "fraud_reports_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "reporter_id", nullable = false)
@@ -21,6 +26,9 @@ public class FraudReport {
     @Column(name = "status", nullable = false)
     private String status; // PENDING, REVIEWED, RESOLVED, etc.
 
+    @Column(name = "created_at")
+    private Long createdAt; // Epoch millis; null for reports filed before it was recorded
+
     // Constructors
     public FraudReport() {}
 
@@ -42,4 +50,6 @@ public class FraudReport {
     public void setDescription(String description) { this.description = description; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
-}
\ No newline at end of file
+    public Long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Long createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,10 @@
+package com.freelanceplatform.model;
+
+import java.util.Map;
+
+/**
+ * One reported user in the admin fraud queue: the current risk score, how many reports
+ * are still open, the newest of them, and the windowed signal counts behind the score.
+ */
+public record FraudRiskEntry(Long userId, int riskScore, int openReports, Long latestReportId, Map<String, Integer> signals) {
+}
@@ -0,0 +1,5 @@
+package com.freelanceplatform.model;
+
+// Fraud report totals for one reported user: all reports, open ones, and distinct reporters
+public record FraudUserCount(Long reportedUserId, Long reports, Long openReports, Long reporters) {
+}
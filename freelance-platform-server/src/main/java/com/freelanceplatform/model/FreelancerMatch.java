@@ -0,0 +1,9 @@
+package com.freelanceplatform.model;
+
+import java.util.List;
+
+/**
+ * A recommended freelancer for a job, with the skills that matched.
+ */
+public record FreelancerMatch(Long freelancerId, String name, double score, List<String> matchedSkills) {
+}
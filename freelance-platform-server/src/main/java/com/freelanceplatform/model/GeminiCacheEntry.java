@@ -0,0 +1,24 @@
+package com.freelanceplatform.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name = "gemini_cache", indexes = {
+        @Index(name = "idx_gemini_cache_expires_at", columnList = "expires_at")
+})
+@Data
+public class GeminiCacheEntry {
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey; // SHA-256 of model, maxTokens and prompt
+    private String operation;
+    @Column(columnDefinition = "LONGTEXT")
+    private String response;
+    @Column(name = "expires_at")
+    private long expiresAt; // Epoch millis
+}
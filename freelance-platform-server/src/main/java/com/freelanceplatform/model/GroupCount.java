@@ -0,0 +1,5 @@
+package com.freelanceplatform.model;
+
+// One row of a "group by" count query
+public record GroupCount(String key, Long count) {
+}
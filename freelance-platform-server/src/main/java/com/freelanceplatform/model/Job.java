@@ -1,29 +1,49 @@
 package com.freelanceplatform.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_status_id", columnList = "status, id"),
+        @Index(name = "idx_jobs_client_id", columnList = "client_id, id"),
+        @Index(name = "idx_jobs_freelancer_id", columnList = "freelancer_id, id")
+})
 @Data
 public class Job {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_seq")
+    @SequenceGenerator(name = "jobs_seq", sequenceName = "jobs_seq", allocationSize = 50)
     private Long id;
     private String title;
     private String description;
+    @Column(name = "client_id")
     private Long clientId;
+    @Column(name = "freelancer_id")
     private Long freelancerId; // This is the correct field name
     private String status;
+    // Status before the last lifecycle transition, set by the same UPDATE
+    @JsonIgnore
+    @Column(name = "previous_status")
+    private String previousStatus;
     private double budget;
     private String estimatedTime;
     private String deadline;
     private Integer price;
     private boolean paid;
+    // Bumped by every save and by the conditional transition updates in JobRepository
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long version;
 	
 	
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.freelanceplatform.model;
+
+// Pushed to the job's client and freelancer after every lifecycle change; carries every
+// field a dashboard shows, so clients patch the job in place instead of re-querying
+public record JobEvent(String type, Long jobId, String status, Long clientId, Long freelancerId,
+                       Integer price, boolean paid, long version, long timestamp,
+                       String title, String description, String estimatedTime, double budget, String deadline) {
+
+    public static JobEvent of(String type, Job job) {
+        return new JobEvent(type, job.getId(), job.getStatus(), job.getClientId(), job.getFreelancerId(),
+                job.getPrice(), job.isPaid(), job.getVersion(), System.currentTimeMillis(),
+                job.getTitle(), job.getDescription(), job.getEstimatedTime(), job.getBudget(), job.getDeadline());
+    }
+}
@@ -0,0 +1,9 @@
+package com.freelanceplatform.model;
+
+/**
+ * Optional filters for the job feed; a null field means "don't filter on it".
+ * deadlineBefore is compared as an ISO date string (yyyy-MM-dd), the format
+ * the client stores in Job.deadline.
+ */
+public record JobFeedFilter(String status, Double minBudget, Double maxBudget, String deadlineBefore, Boolean paid) {
+}
@@ -0,0 +1,34 @@
+package com.freelanceplatform.model;
+
+import java.util.List;
+
+/**
+ * Allowed job lifecycle moves: PENDING -> ACCEPTED -> ACTIVE (paid) -> COMPLETED,
+ * payment may also come before acceptance, and unpaid jobs can be released back to
+ * PENDING by the freelancer or IGNORED by the client. A job marked unpaid stays ACTIVE
+ * and can be paid again, but can't be completed until it is. JobRepository applies each
+ * transition as one UPDATE matching any of its source states.
+ */
+public enum JobTransition {
+    ACCEPT("ACCEPTED", "PENDING"),
+    PAY("ACTIVE", "PENDING", "ACCEPTED", "ACTIVE"),
+    COMPLETE("COMPLETED", "ACTIVE", "ACCEPTED"),
+    RELEASE("PENDING", "PENDING", "ACCEPTED"),
+    IGNORE("IGNORED", "PENDING", "ACCEPTED");
+
+    private final String to;
+    private final List<String> from;
+
+    JobTransition(String to, String... from) {
+        this.to = to;
+        this.from = List.of(from);
+    }
+
+    public String to() {
+        return to;
+    }
+
+    public List<String> from() {
+        return from;
+    }
+}
@@ -0,0 +1,24 @@
+package com.freelanceplatform.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name = "metric_rollups", indexes = {
+        @Index(name = "idx_metric_rollups_series", columnList = "metric, granularity, bucket_start")
+})
+@Data
+public class MetricRollup {
+    @Id
+    @Column(name = "rollup_key", length = 64)
+    private String rollupKey; // metric:granularity:bucketStart
+    private String metric;
+    private String granularity; // MINUTE or HOUR
+    @Column(name = "bucket_start")
+    private long bucketStart; // Epoch millis
+    private long count;
+}
@@ -0,0 +1,40 @@
+package com.freelanceplatform.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * One asynchronous freelancer registration. The row is the durable queue entry:
+ * status is the last completed stage (ACCEPTED, TEXT_EXTRACTED, PARSED, PERSISTED)
+ * or FAILED, and each stage's output is stored so a retry resumes where it stopped.
+ */
+@Entity
+@Table(name = "onboarding_tickets", indexes = {
+        @Index(name = "idx_onboarding_status_created", columnList = "status, created_at")
+})
+@Data
+public class OnboardingTicket {
+    @Id
+    @Column(length = 36)
+    private String id; // UUID handed to the client
+    private String status;
+    @JsonIgnore
+    private String filePath; // Spooled PDF, removed once the ticket is finished
+    @JsonIgnore
+    @Column(columnDefinition = "LONGTEXT")
+    private String resumeText;
+    @JsonIgnore
+    @Column(columnDefinition = "LONGTEXT")
+    private String parsedData;
+    private Long userId;
+    private String error;
+    private int attempts;
+    @Column(name = "created_at")
+    private long createdAt;
+    private long updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.freelanceplatform.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name = "quizzes")
+@Data
+public class Quiz {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quizzes_seq")
+    @SequenceGenerator(name = "quizzes_seq", sequenceName = "quizzes_seq", allocationSize = 50)
+    private Long id;
+    private Long userId;
+    @Column(columnDefinition = "LONGTEXT")
+    private String questions; // JSON array as sent to the client, without answers
+    private String answerKey; // Correct option indices, comma-separated
+    private long createdAt;
+    private boolean graded; // A quiz can be submitted once
+    private boolean passed;
+}
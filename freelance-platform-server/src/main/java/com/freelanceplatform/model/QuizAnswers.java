@@ -0,0 +1,7 @@
+package com.freelanceplatform.model;
+
+/**
+ * A submitted quiz: the issued quiz id and the chosen option indices, comma-separated.
+ */
+public record QuizAnswers(Long quizId, String answers) {
+}
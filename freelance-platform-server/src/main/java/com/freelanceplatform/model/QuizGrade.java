@@ -0,0 +1,4 @@
+package com.freelanceplatform.model;
+
+public record QuizGrade(Long quizId, Long userId, int correct, int total, boolean passed) {
+}
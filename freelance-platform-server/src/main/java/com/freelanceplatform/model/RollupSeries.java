@@ -0,0 +1,5 @@
+package com.freelanceplatform.model;
+
+// counts[i] is the number of events in [start + i * bucketMillis, start + (i + 1) * bucketMillis)
+public record RollupSeries(String metric, String granularity, long start, long bucketMillis, long[] counts, long total) {
+}
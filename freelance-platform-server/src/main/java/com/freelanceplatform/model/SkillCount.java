@@ -0,0 +1,4 @@
+package com.freelanceplatform.model;
+
+public record SkillCount(String skill, long count) {
+}
@@ -1,17 +1,28 @@
 package com.freelanceplatform.model;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.LazyGroup;
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_id", columnList = "role, id")
+})
 @Data
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
 
     private Long id;
   
@@ -21,18 +32,30 @@ public class User {
   
     private String phone;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // Accepted on register/update, never serialized
     private String password;
  
     private String role; // "FREELANCER" or "CLIENT"
+
+    // LONGTEXT columns are lazy (bytecode enhancement) and in separate groups,
+    // so loading a user for auth or a list never pulls the resume body
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skills")
     @Column(columnDefinition = "LONGTEXT")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String skills;
 
     
   
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("resume")
     @Column(columnDefinition = "LONGTEXT")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String resumeText;
   
     private boolean isActive;
    
     private double earnings;
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.freelanceplatform.model;
+
+/**
+ * Freelancer card: enough to render a name, skill list and availability badge.
+ */
+public record UserCard(Long id, String name, String skills, boolean active) {
+}
@@ -0,0 +1,13 @@
+package com.freelanceplatform.model;
+
+/**
+ * Login lookup row. Carries the stored password for comparison and the
+ * summary columns returned to the client on success.
+ */
+public record UserCredentials(Long id, String name, String email, String phone, String password,
+                              String role, boolean active, double earnings) {
+
+    public UserSummary toSummary() {
+        return new UserSummary(id, name, email, phone, role, active, earnings);
+    }
+}
@@ -0,0 +1,8 @@
+package com.freelanceplatform.model;
+
+/**
+ * List view of a user: the columns the dashboards show, without password,
+ * skills or resume text.
+ */
+public record UserSummary(Long id, String name, String email, String phone, String role, boolean active, double earnings) {
+}
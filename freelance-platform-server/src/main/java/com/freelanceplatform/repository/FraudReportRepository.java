@@ -1,9 +1,49 @@
 package com.freelanceplatform.repository;
 
 import com.freelanceplatform.model.FraudReport;
+import com.freelanceplatform.model.FraudUserCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FraudReportRepository extends JpaRepository<FraudReport, Long> {
-}
\ No newline at end of file
+
+    // Newest-first keyset page; each filter has its own (column, id) index on fraud_reports
+    @Query("select r from FraudReport r where r.id < :beforeId " +
+           "and (:status is null or r.status = :status) " +
+           "and (:reportedUserId is null or r.reportedUserId = :reportedUserId) " +
+           "and (:reporterId is null or r.reporterId = :reporterId) " +
+           "order by r.id desc")
+    List<FraudReport> findPage(@Param("beforeId") Long beforeId,
+                               @Param("status") String status,
+                               @Param("reportedUserId") Long reportedUserId,
+                               @Param("reporterId") Long reporterId,
+                               Pageable pageable);
+
+    // Report totals per reported user, in user id order so a page walks idx_fraud_reports_reported_user_id
+    @Query("select new com.freelanceplatform.model.FraudUserCount(r.reportedUserId, count(r), " +
+           "sum(case when r.status = 'PENDING' then 1 else 0 end), count(distinct r.reporterId)) " +
+           "from FraudReport r where r.reportedUserId > :afterUserId " +
+           "group by r.reportedUserId order by r.reportedUserId")
+    List<FraudUserCount> countPerReportedUser(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    // An open report from the same reporter against the same user, used to drop repeats
+    Optional<FraudReport> findFirstByReporterIdAndReportedUserIdAndStatus(Long reporterId, Long reportedUserId, String status);
+
+    // Keyset page over the reports the risk engine needs at startup: open ones and recent ones
+    @Query("select r from FraudReport r where r.id > :afterId and (r.status = 'PENDING' or r.createdAt >= :since) order by r.id")
+    List<FraudReport> findForRiskRebuild(@Param("afterId") Long afterId, @Param("since") Long since, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update FraudReport r set r.status = :status where r.reportedUserId = :reportedUserId and r.status = 'PENDING'")
+    int closePending(@Param("reportedUserId") Long reportedUserId, @Param("status") String status);
+}
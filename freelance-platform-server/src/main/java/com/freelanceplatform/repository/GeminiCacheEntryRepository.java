@@ -0,0 +1,16 @@
+package com.freelanceplatform.repository;
+
+import com.freelanceplatform.model.GeminiCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface GeminiCacheEntryRepository extends JpaRepository<GeminiCacheEntry, String> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from GeminiCacheEntry e where e.expiresAt < :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -1,14 +1,84 @@
 package com.freelanceplatform.repository;
 
+import com.freelanceplatform.model.GroupCount;
 import com.freelanceplatform.model.Job;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface JobRepository extends JpaRepository<Job, Long> {
     List<Job> findByFreelancerId(Long freelancerId); // Correct method name
 	List<Job> findByClientId(Long clientId);
-	
-}
\ No newline at end of file
+
+    // Newest-first keyset page; the status filter and id ordering use idx_jobs_status_id
+    @Query("select j from Job j where j.id < :beforeId " +
+           "and (:status is null or j.status = :status) " +
+           "and (:minBudget is null or j.budget >= :minBudget) " +
+           "and (:maxBudget is null or j.budget <= :maxBudget) " +
+           "and (:deadlineBefore is null or j.deadline <= :deadlineBefore) " +
+           "and (:paid is null or j.paid = :paid) " +
+           "order by j.id desc")
+    List<Job> findFeed(@Param("beforeId") Long beforeId,
+                       @Param("status") String status,
+                       @Param("minBudget") Double minBudget,
+                       @Param("maxBudget") Double maxBudget,
+                       @Param("deadlineBefore") String deadlineBefore,
+                       @Param("paid") Boolean paid,
+                       Pageable pageable);
+
+    @Query("select new com.freelanceplatform.model.GroupCount(j.status, count(j)) from Job j group by j.status")
+    List<GroupCount> countByStatus();
+
+    // Lifecycle transitions. Each is one conditional UPDATE: the WHERE clause checks the
+    // caller's role and that the status is one of the transition's source states, so a
+    // concurrent change makes it match 0 rows instead of being overwritten. The source
+    // state is kept in previousStatus; it is assigned before status, so it reads the old
+    // value under both standard and MySQL (left-to-right) SET semantics. All of them bump
+    // the @Version column.
+
+    // Accept and complete: allowed for the assigned freelancer, or the client once a price is set;
+    // an ACTIVE job whose payment was taken back can't move on until it is paid again
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update Job j set j.previousStatus = j.status, j.status = :to, j.version = j.version + 1 " +
+           "where j.id = :id and j.status in :from and (j.status <> 'ACTIVE' or j.paid = true) " +
+           "and (j.freelancerId = :userId or (j.clientId = :userId and j.price is not null))")
+    int advance(@Param("id") Long id, @Param("userId") Long userId, @Param("from") Collection<String> from, @Param("to") String to);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    // Only unpaid jobs match, so paying again re-pays an ACTIVE job marked unpaid and is a no-op otherwise
+    @Query("update Job j set j.previousStatus = j.status, j.status = :to, j.paid = true, j.version = j.version + 1 " +
+           "where j.id = :id and j.clientId = :clientId and j.paid = false and j.status in :from")
+    int markPaid(@Param("id") Long id, @Param("clientId") Long clientId, @Param("from") Collection<String> from, @Param("to") String to);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    // Matches only a paid job, so repeated calls or never-paid jobs change nothing
+    @Query("update Job j set j.paid = false, j.version = j.version + 1 where j.id = :id and j.clientId = :clientId and j.paid = true")
+    int markUnpaid(@Param("id") Long id, @Param("clientId") Long clientId);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update Job j set j.previousStatus = j.status, j.status = :to, j.freelancerId = null, j.version = j.version + 1 " +
+           "where j.id = :id and j.freelancerId = :freelancerId and j.paid = false and j.status in :from")
+    int release(@Param("id") Long id, @Param("freelancerId") Long freelancerId, @Param("from") Collection<String> from, @Param("to") String to);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update Job j set j.previousStatus = j.status, j.status = :to, j.version = j.version + 1 " +
+           "where j.id = :id and j.clientId = :clientId and j.paid = false and j.status in :from")
+    int ignore(@Param("id") Long id, @Param("clientId") Long clientId, @Param("from") Collection<String> from, @Param("to") String to);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update Job j set j.price = :price, j.version = j.version + 1 " +
+           "where j.id = :id and j.freelancerId = :freelancerId and j.paid = false")
+    int setPrice(@Param("id") Long id, @Param("freelancerId") Long freelancerId, @Param("price") Integer price);
+}
@@ -0,0 +1,11 @@
+package com.freelanceplatform.repository;
+
+import com.freelanceplatform.model.MetricRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface MetricRollupRepository extends JpaRepository<MetricRollup, String> {
+    // Range read over one series, served by idx_metric_rollups_series
+    List<MetricRollup> findByMetricAndGranularityAndBucketStartBetween(String metric, String granularity, long from, long to);
+}
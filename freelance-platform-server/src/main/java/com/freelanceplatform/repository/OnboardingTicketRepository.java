@@ -0,0 +1,12 @@
+package com.freelanceplatform.repository;
+
+import com.freelanceplatform.model.OnboardingTicket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OnboardingTicketRepository extends JpaRepository<OnboardingTicket, String> {
+    List<OnboardingTicket> findByStatusInOrderByCreatedAtAsc(Collection<String> statuses, Pageable pageable);
+}
@@ -0,0 +1,17 @@
+package com.freelanceplatform.repository;
+
+import com.freelanceplatform.model.Quiz;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface QuizRepository extends JpaRepository<Quiz, Long> {
+    // Records the result only if the quiz was not graded yet; returns 0 when a concurrent
+    // submission got there first
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update Quiz q set q.graded = true, q.passed = :passed where q.id = :id and q.graded = false")
+    int markGraded(@Param("id") Long id, @Param("passed") boolean passed);
+}
@@ -1,10 +1,68 @@
 package com.freelanceplatform.repository;
 
+import com.freelanceplatform.model.GroupCount;
 import com.freelanceplatform.model.User;
+import com.freelanceplatform.model.UserCard;
+import com.freelanceplatform.model.UserCredentials;
+import com.freelanceplatform.model.UserSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email); // Method to find by email
-   
-}
\ No newline at end of file
+
+    // Keyset page over one role, served by the (role, id) index
+    @Query("select new com.freelanceplatform.model.UserSummary(u.id, u.name, u.email, u.phone, u.role, u.isActive, u.earnings) " +
+           "from User u where u.role = :role and u.id > :afterId order by u.id")
+    List<UserSummary> findSummariesByRole(@Param("role") String role, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Same page, narrowed to names or emails starting with prefix (lower-case, ending in '%')
+    @Query("select new com.freelanceplatform.model.UserSummary(u.id, u.name, u.email, u.phone, u.role, u.isActive, u.earnings) " +
+           "from User u where u.role = :role and u.id > :afterId " +
+           "and (lower(u.name) like :prefix or lower(u.email) like :prefix) order by u.id")
+    List<UserSummary> searchSummariesByRole(@Param("role") String role, @Param("prefix") String prefix,
+                                            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.freelanceplatform.model.UserSummary(u.id, u.name, u.email, u.phone, u.role, u.isActive, u.earnings) " +
+           "from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select new com.freelanceplatform.model.UserCard(u.id, u.name, u.skills, u.isActive) " +
+           "from User u where u.id in :ids")
+    List<UserCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset page over active freelancers, used to load the skill matcher at startup
+    @Query("select new com.freelanceplatform.model.UserCard(u.id, u.name, u.skills, u.isActive) " +
+           "from User u where u.role = 'FREELANCER' and u.isActive = true and u.id > :afterId order by u.id")
+    List<UserCard> findActiveFreelancerCards(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.freelanceplatform.model.UserCard(u.id, u.name, u.skills, u.isActive) " +
+           "from User u where u.id = :id and u.role = 'FREELANCER' and u.isActive = true")
+    Optional<UserCard> findActiveFreelancerCard(@Param("id") Long id);
+
+    @Query("select new com.freelanceplatform.model.UserCredentials(u.id, u.name, u.email, u.phone, u.password, u.role, u.isActive, u.earnings) " +
+           "from User u where u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    // Emails of the given set that are already registered, used to skip duplicates in bulk imports
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset page over all freelancers (active or not), used to load skill analytics
+    @Query("select new com.freelanceplatform.model.UserCard(u.id, u.name, u.skills, u.isActive) " +
+           "from User u where u.role = 'FREELANCER' and u.id > :afterId order by u.id")
+    List<UserCard> findFreelancerCards(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Only the resume column, for scoring a stored resume without loading the entity
+    @Query("select u.resumeText from User u where u.id = :id")
+    Optional<String> findResumeTextById(@Param("id") Long id);
+
+    @Query("select new com.freelanceplatform.model.GroupCount(u.role, count(u)) from User u group by u.role")
+    List<GroupCount> countByRole();
+}
@@ -1,20 +1,200 @@
 package com.freelanceplatform.services;
 
+import com.freelanceplatform.model.AnalyticsSnapshot;
+import com.freelanceplatform.model.GroupCount;
+import com.freelanceplatform.model.SkillCount;
+import com.freelanceplatform.model.UserCard;
+import com.freelanceplatform.repository.JobRepository;
 import com.freelanceplatform.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Live platform counters kept in memory. UserService and JobService report every
+ * insert, delete and status change, so user counts per role, job counts per status
+ * and freelancer skill counts are read without touching MySQL. The counters are
+ * loaded at startup and re-synced from the database periodically, which also
+ * corrects any drift from writes made outside these services.
+ */
 @Service
 public class AnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final String UNKNOWN = "UNKNOWN";
+
+    @Value("${analytics.top-skills:20}")
+    private int topSkillsSize;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JobRepository jobRepository;
+
+    private volatile Map<String, LongAdder> usersByRole = new ConcurrentHashMap<>();
+    private volatile Map<String, LongAdder> jobsByStatus = new ConcurrentHashMap<>();
+    private volatile Map<String, LongAdder> skillCounts = new ConcurrentHashMap<>();
+
+    // Top skills are recomputed only after a skill count changed, and only when read
+    private final AtomicBoolean topSkillsDirty = new AtomicBoolean(true);
+    private volatile List<SkillCount> topSkills = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${analytics.resync-interval-ms:600000}",
+               fixedDelayString = "${analytics.resync-interval-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, LongAdder> roles = new ConcurrentHashMap<>();
+        for (GroupCount row : userRepository.countByRole()) {
+            counter(roles, row.key()).add(row.count());
+        }
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        for (GroupCount row : jobRepository.countByStatus()) {
+            counter(statuses, row.key()).add(row.count());
+        }
+        Map<String, LongAdder> skills = new ConcurrentHashMap<>();
+        long afterId = 0;
+        List<UserCard> page;
+        do {
+            page = userRepository.findFreelancerCards(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (UserCard card : page) {
+                for (String skill : TextNormalizer.skills(card.skills())) {
+                    counter(skills, skill).increment();
+                }
+                afterId = card.id();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        usersByRole = roles;
+        jobsByStatus = statuses;
+        skillCounts = skills;
+        topSkillsDirty.set(true);
+        logger.info("Analytics loaded {} distinct skills in {} ms", skills.size(), System.currentTimeMillis() - start);
+    }
+
+    public void userAdded(String role, String skills) {
+        counter(usersByRole, role).increment();
+        if ("FREELANCER".equals(role)) {
+            adjustSkills(skills, 1);
+        }
+    }
+
+    public void userRemoved(String role, String skills) {
+        counter(usersByRole, role).decrement();
+        if ("FREELANCER".equals(role)) {
+            adjustSkills(skills, -1);
+        }
+    }
+
+    public void jobAdded(String status) {
+        counter(jobsByStatus, status).increment();
+    }
+
+    public void jobRemoved(String status) {
+        counter(jobsByStatus, status).decrement();
+    }
+
+    public void jobStatusChanged(String from, String to) {
+        if (from == null ? to == null : from.equals(to)) {
+            return;
+        }
+        counter(jobsByStatus, from).decrement();
+        counter(jobsByStatus, to).increment();
+    }
+
     public long getUserCount() {
-        return userRepository.count();
+        return total(usersByRole);
+    }
+
+    public long getUserCount(String role) {
+        LongAdder count = usersByRole.get(role);
+        return count == null ? 0 : count.sum();
     }
 
     public String getPopularSkills() {
-        // Simplified; in reality, aggregate skills from all users
-        return "Java, Python, React";
+        return getTopSkills(3).stream().map(SkillCount::skill).collect(Collectors.joining(", "));
+    }
+
+    public List<SkillCount> getTopSkills(int limit) {
+        if (topSkillsDirty.getAndSet(false)) {
+            topSkills = computeTopSkills();
+        }
+        List<SkillCount> current = topSkills;
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+
+    public AnalyticsSnapshot snapshot(int topSkillsLimit) {
+        return new AnalyticsSnapshot(
+                total(usersByRole), counts(usersByRole),
+                total(jobsByStatus), counts(jobsByStatus),
+                getTopSkills(topSkillsLimit));
+    }
+
+    private void adjustSkills(String skills, int delta) {
+        List<String> normalized = TextNormalizer.skills(skills);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Map<String, LongAdder> counts = skillCounts;
+        for (String skill : normalized) {
+            counter(counts, skill).add(delta);
+        }
+        topSkillsDirty.set(true);
+    }
+
+    // Min-heap of size topSkillsSize over the distinct skills
+    private List<SkillCount> computeTopSkills() {
+        Comparator<SkillCount> byCount = Comparator.comparingLong(SkillCount::count)
+                .thenComparing(SkillCount::skill, Comparator.reverseOrder());
+        PriorityQueue<SkillCount> heap = new PriorityQueue<>(topSkillsSize + 1, byCount);
+        for (Map.Entry<String, LongAdder> entry : skillCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count <= 0) {
+                continue;
+            }
+            heap.offer(new SkillCount(entry.getKey(), count));
+            if (heap.size() > topSkillsSize) {
+                heap.poll();
+            }
+        }
+        List<SkillCount> result = new ArrayList<>(heap);
+        result.sort(byCount.reversed());
+        return List.copyOf(result);
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key == null ? UNKNOWN : key, k -> new LongAdder());
+    }
+
+    private static long total(Map<String, LongAdder> counters) {
+        long total = 0;
+        for (LongAdder counter : counters.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    private static Map<String, Long> counts(Map<String, LongAdder> counters) {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((key, counter) -> counts.put(key, counter.sum()));
+        return counts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.freelanceplatform.services;
+
+/**
+ * Identity resolved from a verified bearer token. Only the id and role are kept so
+ * the value can be cached per token without holding on to a User entity.
+ */
+public record AuthPrincipal(Long id, String role, boolean adminToken) {
+
+    public boolean isAdmin() {
+        return adminToken && "ADMIN".equals(role);
+    }
+}
@@ -0,0 +1,327 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.ai.AiRequestExecutor;
+import com.freelanceplatform.ai.GeminiService;
+import com.freelanceplatform.model.BulkImportItem;
+import com.freelanceplatform.model.BulkImportResult;
+import com.freelanceplatform.model.User;
+import com.freelanceplatform.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Registers many freelancers from one upload (a ZIP of PDFs and/or several PDF parts).
+ * Files are spooled to a scratch directory, text is extracted on a pool sized to the
+ * CPU count, resumes are parsed several per Gemini call (GeminiService.parseResumes),
+ * and the resulting users are saved in chunks that Hibernate sends as JDBC batches.
+ * Every file gets its own result, so one bad resume never fails the whole batch.
+ */
+@Service
+public class BulkImportService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    @Value("${bulk-import.max-files:500}")
+    private int maxFiles;
+
+    @Value("${bulk-import.max-entry-bytes:10485760}")
+    private long maxEntryBytes;
+
+    @Value("${bulk-import.extract-threads:0}")
+    private int extractThreads;
+
+    @Value("${bulk-import.parse-slice-size:32}")
+    private int parseSliceSize;
+
+    @Value("${bulk-import.insert-batch-size:100}")
+    private int insertBatchSize;
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    @Autowired
+    private GeminiService geminiService;
+
+    @Autowired
+    private AiRequestExecutor aiRequestExecutor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MetricsRollupStore metricsRollupStore;
+
+    private ExecutorService extractPool;
+
+    // Per-file state as it moves through the stages; error set means the file is done
+    private static class Resume {
+        final String fileName;
+        Path path;
+        String text;
+        String name;
+        String email;
+        String phone;
+        String skills;
+        Long userId;
+        String error;
+
+        Resume(String fileName) {
+            this.fileName = fileName;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        int threads = extractThreads > 0 ? extractThreads : Runtime.getRuntime().availableProcessors();
+        extractPool = Executors.newFixedThreadPool(threads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        extractPool.shutdown();
+    }
+
+    public BulkImportResult importResumes(List<MultipartFile> uploads) throws IOException {
+        if (uploads == null || uploads.isEmpty()) {
+            throw new IllegalArgumentException("At least one file is required");
+        }
+        long start = System.nanoTime();
+        Path workDir = Files.createTempDirectory("bulk-import-");
+        try {
+            List<Resume> resumes = spool(uploads, workDir);
+
+            long extractStart = System.nanoTime();
+            extractAll(resumes);
+            long parseStart = System.nanoTime();
+            parseAll(resumes);
+            long insertStart = System.nanoTime();
+            insertAll(resumes);
+            long end = System.nanoTime();
+
+            List<BulkImportItem> items = new ArrayList<>(resumes.size());
+            int imported = 0;
+            for (Resume resume : resumes) {
+                if (resume.userId != null) {
+                    imported++;
+                    items.add(new BulkImportItem(resume.fileName, "IMPORTED", resume.userId, null));
+                } else {
+                    items.add(new BulkImportItem(resume.fileName, "FAILED", null, resume.error));
+                }
+            }
+            long totalMillis = (end - start) / 1_000_000;
+            BulkImportResult result = new BulkImportResult(items, resumes.size(), imported, resumes.size() - imported,
+                    (parseStart - extractStart) / 1_000_000,
+                    (insertStart - parseStart) / 1_000_000,
+                    (end - insertStart) / 1_000_000,
+                    totalMillis,
+                    totalMillis == 0 ? imported : imported * 1000.0 / totalMillis);
+            logger.info("Bulk import: {} of {} resumes imported in {} ms", imported, resumes.size(), totalMillis);
+            return result;
+        } finally {
+            FileSystemUtils.deleteRecursively(workDir);
+        }
+    }
+
+    // ZIP entries are written under generated names, so entry paths never touch the file system
+    private List<Resume> spool(List<MultipartFile> uploads, Path workDir) throws IOException {
+        List<Resume> resumes = new ArrayList<>();
+        for (MultipartFile upload : uploads) {
+            String uploadName = upload.getOriginalFilename() == null ? "upload" : upload.getOriginalFilename();
+            if (uploadName.toLowerCase(Locale.ROOT).endsWith(".zip")) {
+                try (ZipInputStream zip = new ZipInputStream(upload.getInputStream())) {
+                    ZipEntry entry;
+                    while ((entry = zip.getNextEntry()) != null) {
+                        if (entry.isDirectory() || !entry.getName().toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+                            continue;
+                        }
+                        Resume resume = newResume(resumes, entry.getName());
+                        Path target = workDir.resolve(resumes.size() + ".pdf");
+                        if (copyBounded(zip, target)) {
+                            resume.path = target;
+                        } else {
+                            resume.error = "File exceeds " + maxEntryBytes + " bytes";
+                        }
+                    }
+                }
+            } else {
+                Resume resume = newResume(resumes, uploadName);
+                if (upload.isEmpty()) {
+                    resume.error = "File is empty";
+                } else if (upload.getSize() > maxEntryBytes) {
+                    resume.error = "File exceeds " + maxEntryBytes + " bytes";
+                } else {
+                    resume.path = workDir.resolve(resumes.size() + ".pdf");
+                    upload.transferTo(resume.path);
+                }
+            }
+        }
+        return resumes;
+    }
+
+    private Resume newResume(List<Resume> resumes, String fileName) {
+        if (resumes.size() >= maxFiles) {
+            throw new IllegalArgumentException("A bulk import may contain at most " + maxFiles + " resumes");
+        }
+        Resume resume = new Resume(fileName);
+        resumes.add(resume);
+        return resume;
+    }
+
+    private boolean copyBounded(InputStream in, Path target) throws IOException {
+        byte[] buffer = new byte[8192];
+        long written = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                written += read;
+                if (written > maxEntryBytes) {
+                    return false;
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return true;
+    }
+
+    private void extractAll(List<Resume> resumes) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Resume resume : resumes) {
+            if (resume.error != null) {
+                continue;
+            }
+            tasks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    String text = pdfTextExtractor.extract(resume.path);
+                    if (text == null || text.trim().isEmpty()) {
+                        resume.error = "No text could be extracted from the PDF";
+                    } else {
+                        resume.text = text;
+                    }
+                } catch (Exception e) {
+                    resume.error = "Failed to process PDF file: " + e.getMessage();
+                }
+            }, extractPool));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+    }
+
+    // Slices are parsed concurrently; GeminiClient still caps how many calls are in flight
+    private void parseAll(List<Resume> resumes) {
+        List<Resume> pending = resumes.stream().filter(resume -> resume.error == null).toList();
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += parseSliceSize) {
+            List<Resume> slice = pending.subList(from, Math.min(from + parseSliceSize, pending.size()));
+            slices.add(aiRequestExecutor.supply(() -> {
+                List<String> parsed = geminiService.parseResumes(slice.stream().map(resume -> resume.text).toList());
+                for (int i = 0; i < slice.size(); i++) {
+                    applyParsed(slice.get(i), parsed.get(i));
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(slices.toArray(new CompletableFuture[0])).join();
+    }
+
+    // null means Gemini couldn't parse this resume; anything else is checked field by field
+    private void applyParsed(Resume resume, String parsedData) {
+        if (parsedData == null) {
+            resume.error = "Failed to parse resume data: resume parser unavailable";
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(parsedData);
+            resume.name = json.optString("name", "").trim();
+            resume.email = json.optString("email", "").trim();
+            resume.phone = json.optString("phone", "").trim();
+            resume.skills = json.optString("skills", "").trim();
+        } catch (Exception e) {
+            resume.error = "Failed to parse resume data: " + e.getMessage();
+            return;
+        }
+        if (resume.name.isEmpty() || resume.email.isEmpty()) {
+            resume.error = "Name and email are required fields";
+        } else if (!EMAIL.matcher(resume.email).matches()) {
+            resume.error = "Invalid email in resume: " + resume.email;
+        }
+    }
+
+    // New freelancers start inactive, so the skill matcher has nothing to refresh until they pass the quiz
+    private void insertAll(List<Resume> resumes) {
+        List<Resume> valid = resumes.stream().filter(resume -> resume.error == null).toList();
+        if (valid.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>(userRepository.findExistingEmails(
+                valid.stream().map(resume -> resume.email).toList()));
+        List<Resume> rows = new ArrayList<>(valid.size());
+        for (Resume resume : valid) {
+            if (!taken.add(resume.email)) {
+                resume.error = "Email already registered: " + resume.email;
+            } else {
+                rows.add(resume);
+            }
+        }
+        for (int from = 0; from < rows.size(); from += insertBatchSize) {
+            List<Resume> batch = rows.subList(from, Math.min(from + insertBatchSize, rows.size()));
+            try {
+                insertBatch(batch);
+            } catch (Exception e) {
+                logger.error("Bulk insert of {} users failed: {}", batch.size(), e.getMessage(), e);
+                for (Resume resume : batch) {
+                    resume.userId = null;
+                    resume.error = "Failed to save user: " + e.getMessage();
+                }
+            }
+        }
+    }
+
+    // One transaction per chunk; with sequence ids Hibernate sends the chunk as JDBC batches
+    private void insertBatch(List<Resume> batch) {
+        List<User> users = new ArrayList<>(batch.size());
+        for (Resume resume : batch) {
+            User user = new User();
+            user.setName(resume.name);
+            user.setEmail(resume.email);
+            user.setPhone(resume.phone);
+            user.setSkills(resume.skills);
+            user.setResumeText(resume.text);
+            user.setRole("FREELANCER");
+            user.setActive(false);
+            users.add(user);
+        }
+        List<User> saved = userRepository.saveAll(users);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).userId = saved.get(i).getId();
+            analyticsService.userAdded("FREELANCER", batch.get(i).skills);
+        }
+        metricsRollupStore.record(MetricsRollupStore.Metric.REGISTRATIONS, System.currentTimeMillis(), saved.size());
+    }
+}
@@ -1,84 +1,98 @@
 package com.freelanceplatform.services;
 
+import com.freelanceplatform.model.CursorPage;
 import com.freelanceplatform.model.FraudReport;
-import com.freelanceplatform.model.User;
+import com.freelanceplatform.model.FraudRiskEntry;
+import com.freelanceplatform.model.FraudUserCount;
 import com.freelanceplatform.repository.FraudReportRepository;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
 public class FraudReportService {
-    private static final String JWT_SECRET = "your-secret-key"; // Matches UserController
 
     @Autowired
     private FraudReportRepository fraudReportRepository;
 
     @Autowired
-    private UserService userService;
+    private MetricsRollupStore metricsRollupStore;
 
-    public FraudReport reportFraud(FraudReport report, String token) {
-        System.out.println("Reporting fraud with token: " + token);
-        Long userId = extractUserIdFromToken(token);
-        System.out.println("Extracted reporter ID: " + userId);
-        User reporter = userService.getUser(userId);
-        System.out.println("Fetched reporter: " + (reporter != null ? "ID: " + reporter.getId() + ", Role: " + reporter.getRole() : "null"));
-        if (reporter == null) {
-            System.out.println("No reporter found for ID: " + userId);
-            throw new SecurityException("Invalid reporter ID");
-        }
-        if ("ADMIN".equals(reporter.getRole())) {
-            System.out.println("Admins cannot report fraud, user role: " + reporter.getRole());
+    @Autowired
+    private FraudRiskEngine fraudRiskEngine;
+
+    public FraudReport reportFraud(FraudReport report, AuthPrincipal reporter) {
+        System.out.println("Reporting fraud for reporter ID: " + reporter.id() + ", Role: " + reporter.role());
+        if ("ADMIN".equals(reporter.role())) {
+            System.out.println("Admins cannot report fraud, user role: " + reporter.role());
             throw new SecurityException("Admins are not allowed to report fraud");
         }
-        report.setReporterId(userId);
+        if (report.getReportedUserId() == null || report.getReportedUserId().equals(reporter.id())) {
+            throw new IllegalArgumentException("A fraud report needs another user to report");
+        }
+        // Reporting the same user again while the first report is open adds nothing to triage
+        FraudReport open = fraudReportRepository
+                .findFirstByReporterIdAndReportedUserIdAndStatus(reporter.id(), report.getReportedUserId(), "PENDING")
+                .orElse(null);
+        if (open != null) {
+            System.out.println("Fraud report already open for reporter ID: " + reporter.id() + ", report ID: " + open.getId());
+            return open;
+        }
+        report.setId(null);
+        report.setReporterId(reporter.id());
         report.setStatus("PENDING");
-        System.out.println("Saving fraud report for reporter ID: " + userId);
-        return fraudReportRepository.save(report);
+        report.setCreatedAt(System.currentTimeMillis());
+        System.out.println("Saving fraud report for reporter ID: " + reporter.id());
+        FraudReport saved = fraudReportRepository.save(report);
+        metricsRollupStore.record(MetricsRollupStore.Metric.FRAUD_REPORTS);
+        fraudRiskEngine.reportFiled(saved);
+        return saved;
     }
 
-    public List<FraudReport> getAllFraudReports(String token) {
-        System.out.println("Received token for fraud reports: " + token);
-        Long adminId = extractUserIdFromToken(token);
-        System.out.println("Extracted adminId: " + adminId);
-        User admin = userService.getUser(adminId);
-        System.out.println("Fetched admin: " + (admin != null ? "ID: " + admin.getId() + ", Role: " + admin.getRole() : "null"));
-        if (admin == null) {
-            System.out.println("No user found for adminId: " + adminId);
-            throw new SecurityException("No user found for the provided token");
-        }
-        String jwt = token.replace("Bearer ", "");
-        if (!jwt.equals("mock-admin-token-1") || !"ADMIN".equals(admin.getRole())) { // Exact match for fixed token
-            System.out.println("User is not an admin or invalid token, role: " + admin.getRole() + ", token: " + jwt);
+    // One newest-first page, optionally narrowed to a status, a reported user or a reporter
+    public CursorPage<FraudReport> getFraudReports(AuthPrincipal admin, String status, Long reportedUserId,
+                                                   Long reporterId, Long beforeId, Integer limit) {
+        if (!admin.isAdmin()) { // Requires the fixed admin token and the ADMIN role
+            System.out.println("User is not an admin or invalid token, role: " + admin.role());
             throw new SecurityException("Only admins can view fraud reports");
         }
-        System.out.println("Fetching fraud reports for admin ID: " + adminId);
-        List<FraudReport> reports = fraudReportRepository.findAll();
-        return reports.isEmpty() ? null : reports;
+        int pageSize = CursorPage.clampLimit(limit);
+        List<FraudReport> rows = fraudReportRepository.findPage(
+                beforeId == null ? Long.MAX_VALUE : beforeId,
+                status, reportedUserId, reporterId,
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, FraudReport::getId);
+    }
+
+    public CursorPage<FraudUserCount> getReportCountsPerUser(AuthPrincipal admin, Long afterUserId, Integer limit) {
+        requireAdmin(admin);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<FraudUserCount> rows = fraudReportRepository.countPerReportedUser(
+                afterUserId == null ? 0L : afterUserId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, FraudUserCount::reportedUserId);
+    }
+
+    public CursorPage<FraudRiskEntry> getRiskQueue(AuthPrincipal admin, Long afterUserId, Integer limit) {
+        requireAdmin(admin);
+        return fraudRiskEngine.page(afterUserId, CursorPage.clampLimit(limit));
+    }
+
+    // Closes every open report against the user and takes them off the risk queue
+    public int closeReports(AuthPrincipal admin, Long reportedUserId, String status) {
+        requireAdmin(admin);
+        if (status == null || status.isBlank() || "PENDING".equals(status)) {
+            throw new IllegalArgumentException("Reports can only be closed with a status other than PENDING");
+        }
+        int closed = fraudReportRepository.closePending(reportedUserId, status);
+        fraudRiskEngine.reportsClosed(reportedUserId, closed);
+        return closed;
     }
 
-    private Long extractUserIdFromToken(String token) {
-        try {
-            String jwt = token.replace("Bearer ", "");
-            System.out.println("JWT after Bearer removal: " + jwt);
-            if (jwt.equals("mock-admin-token-1")) { // Exact match for fixed admin token
-                System.out.println("Mock admin token detected, extracting ID: 1");
-                return 1L;
-            }
-            // Handle client/freelancer tokens (assuming JWT from UserController)
-            Claims claims = Jwts.parser()
-                    .setSigningKey(JWT_SECRET)
-                    .parseClaimsJws(jwt)
-                    .getBody();
-            String subject = claims.getSubject();
-            System.out.println("Token subject: " + subject);
-            return Long.parseLong(subject);
-        } catch (Exception e) {
-            System.err.println("Error parsing token: " + e.getMessage());
-            throw new SecurityException("Invalid token: " + e.getMessage());
+    private static void requireAdmin(AuthPrincipal admin) {
+        if (!admin.isAdmin()) {
+            throw new SecurityException("Only admins can review fraud reports");
         }
     }
-}
\ No newline at end of file
+}
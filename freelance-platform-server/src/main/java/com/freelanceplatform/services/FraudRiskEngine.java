@@ -0,0 +1,317 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.CursorPage;
+import com.freelanceplatform.model.FraudReport;
+import com.freelanceplatform.model.FraudRiskEntry;
+import com.freelanceplatform.repository.FraudReportRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Incremental fraud-risk scores per user. Fraud reports and suspicious job activity are
+ * counted in per-user sliding windows of one-day buckets; a user's score is the weighted
+ * sum of the window counts plus a weight per report still open, and is recomputed only
+ * for the user an event touches. Users with open reports are kept in a queue sorted by
+ * score, so an admin page is read straight off the queue.
+ *
+ * Counters live in flat primitive arrays indexed by a row per user (LongIntMap maps user
+ * id to row); rows are recycled once a user has no open reports and nothing in the window.
+ * Reports are reloaded from MySQL at startup; job activity is only counted in memory.
+ */
+@Component
+public class FraudRiskEngine {
+    private static final Logger logger = LoggerFactory.getLogger(FraudRiskEngine.class);
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int INITIAL_ROWS = 256;
+    private static final int OPEN_REPORT_WEIGHT = 5;
+
+    public enum Signal {
+        REPORT(10),       // Fraud report filed against the user
+        UNPAID(4),        // Client took back a payment
+        JOB_IGNORED(2),   // Client dropped a job
+        JOB_RELEASED(2);  // Freelancer walked away from an accepted job
+
+        final int weight;
+
+        Signal(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Signal[] SIGNALS = Signal.values();
+
+    @Value("${fraud.risk.window-days:30}")
+    private int windowDays;
+
+    @Autowired
+    private FraudReportRepository fraudReportRepository;
+
+    // Epoch millis; tests substitute their own clock to move the window forward
+    LongSupplier clock = System::currentTimeMillis;
+
+    private final LongIntMap rows = new LongIntMap(INITIAL_ROWS);
+    private long[] rowUser;       // 0 marks a free row
+    private int[] buckets;        // (row * SIGNALS + signal) * windowDays + day % windowDays
+    private int[] totals;         // row * SIGNALS + signal: sum over the window
+    private int[] lastDay;        // Epoch day the row's buckets were last advanced to
+    private int[] openReports;
+    private long[] latestReport;
+    private int[] scores;
+    private boolean[] queued;
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    // Rows with open reports, highest score first; the comparator reads the arrays, so a
+    // row leaves the queue before its score changes and re-enters afterwards
+    private final TreeSet<Integer> queue = new TreeSet<>((a, b) -> scores[a] != scores[b]
+            ? Integer.compare(scores[b], scores[a])
+            : Long.compare(rowUser[a], rowUser[b]));
+
+    @PostConstruct
+    synchronized void reset() {
+        rows.clear();
+        queue.clear();
+        rowUser = new long[INITIAL_ROWS];
+        buckets = new int[INITIAL_ROWS * SIGNALS.length * windowDays];
+        totals = new int[INITIAL_ROWS * SIGNALS.length];
+        lastDay = new int[INITIAL_ROWS];
+        openReports = new int[INITIAL_ROWS];
+        latestReport = new long[INITIAL_ROWS];
+        scores = new int[INITIAL_ROWS];
+        queued = new boolean[INITIAL_ROWS];
+        rowCount = 0;
+        freeCount = 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        reset();
+        int today = today();
+        long since = (long) (today - windowDays + 1) * DAY_MS;
+        int loaded = 0;
+        long afterId = 0;
+        List<FraudReport> page;
+        do {
+            page = fraudReportRepository.findForRiskRebuild(afterId, since, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (FraudReport report : page) {
+                int row = rowFor(report.getReportedUserId(), today);
+                if ("PENDING".equals(report.getStatus())) {
+                    openReports[row]++;
+                    latestReport[row] = Math.max(latestReport[row], report.getId());
+                }
+                if (report.getCreatedAt() != null) {
+                    count(row, Signal.REPORT, dayOf(report.getCreatedAt()), today);
+                }
+                afterId = report.getId();
+                loaded++;
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        for (int row = 0; row < rowCount; row++) {
+            if (rowUser[row] != 0) {
+                rescore(row);
+            }
+        }
+        logger.info("Fraud risk engine loaded {} reports, {} users queued in {} ms",
+                loaded, queue.size(), System.currentTimeMillis() - start);
+    }
+
+    // A new PENDING report was saved
+    public synchronized void reportFiled(FraudReport report) {
+        int today = today();
+        int row = rowFor(report.getReportedUserId(), today);
+        count(row, Signal.REPORT, today, today);
+        openReports[row]++;
+        latestReport[row] = Math.max(latestReport[row], report.getId());
+        rescore(row);
+    }
+
+    // An admin closed the user's open reports
+    public synchronized void reportsClosed(Long userId, int closed) {
+        int row = rows.get(userId);
+        if (row < 0) {
+            return;
+        }
+        openReports[row] = Math.max(0, openReports[row] - closed);
+        if (openReports[row] == 0) {
+            latestReport[row] = 0;
+        }
+        advance(row, today());
+        rescore(row);
+    }
+
+    public synchronized void record(Long userId, Signal signal) {
+        if (userId == null) {
+            return;
+        }
+        int today = today();
+        int row = rowFor(userId, today);
+        count(row, signal, today, today);
+        rescore(row);
+    }
+
+    /** Reported users by descending risk; the cursor is the last user id of the previous page. */
+    public synchronized CursorPage<FraudRiskEntry> page(Long afterUserId, int limit) {
+        NavigableSet<Integer> view = queue;
+        if (afterUserId != null) {
+            int row = rows.get(afterUserId);
+            if (row >= 0 && queued[row]) {
+                view = queue.tailSet(row, false);
+            }
+            // A user who left the queue since the last page has no position; start over
+        }
+        List<FraudRiskEntry> fetched = new ArrayList<>(limit + 1);
+        for (int row : view) {
+            fetched.add(entry(row));
+            if (fetched.size() > limit) {
+                break;
+            }
+        }
+        return CursorPage.of(fetched, limit, FraudRiskEntry::userId);
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedUsers", rows.size());
+        stats.put("queuedUsers", queue.size());
+        stats.put("windowDays", windowDays);
+        return stats;
+    }
+
+    // Expires buckets that fell out of the window; scores only change when a day rolls over
+    @Scheduled(fixedDelayString = "${fraud.risk.sweep-interval-ms:3600000}")
+    public synchronized void sweep() {
+        int today = today();
+        for (int row = 0; row < rowCount; row++) {
+            if (rowUser[row] != 0 && lastDay[row] < today) {
+                advance(row, today);
+                rescore(row);
+            }
+        }
+    }
+
+    private FraudRiskEntry entry(int row) {
+        Map<String, Integer> signals = new LinkedHashMap<>();
+        for (Signal signal : SIGNALS) {
+            int total = totals[row * SIGNALS.length + signal.ordinal()];
+            if (total > 0) {
+                signals.put(signal.name(), total);
+            }
+        }
+        return new FraudRiskEntry(rowUser[row], scores[row], openReports[row],
+                latestReport[row] == 0 ? null : latestReport[row], signals);
+    }
+
+    private void rescore(int row) {
+        if (queued[row]) {
+            queue.remove(row);
+        }
+        int score = openReports[row] * OPEN_REPORT_WEIGHT;
+        boolean empty = true;
+        for (Signal signal : SIGNALS) {
+            int total = totals[row * SIGNALS.length + signal.ordinal()];
+            score += signal.weight * total;
+            empty &= total == 0;
+        }
+        scores[row] = score;
+        queued[row] = openReports[row] > 0;
+        if (queued[row]) {
+            queue.add(row);
+        } else if (empty) {
+            release(row);
+        }
+    }
+
+    // Adds one event on the given day; the row must already be advanced to today
+    private void count(int row, Signal signal, int day, int today) {
+        if (day <= today - windowDays) {
+            return;
+        }
+        day = Math.min(day, today);
+        int counter = row * SIGNALS.length + signal.ordinal();
+        buckets[counter * windowDays + day % windowDays]++;
+        totals[counter]++;
+    }
+
+    // Clears the buckets of days that left the window since the row was last touched
+    private void advance(int row, int today) {
+        int from = lastDay[row];
+        int days = Math.min(today - from, windowDays);
+        for (int day = from + 1; day <= from + days; day++) {
+            for (int signal = 0; signal < SIGNALS.length; signal++) {
+                int counter = row * SIGNALS.length + signal;
+                int bucket = counter * windowDays + day % windowDays;
+                totals[counter] -= buckets[bucket];
+                buckets[bucket] = 0;
+            }
+        }
+        lastDay[row] = Math.max(from, today);
+    }
+
+    private int rowFor(Long userId, int today) {
+        int row = rows.get(userId);
+        if (row >= 0) {
+            advance(row, today);
+            return row;
+        }
+        row = freeCount > 0 ? freeRows[--freeCount] : rowCount++;
+        if (row == rowUser.length) {
+            grow(row * 2);
+        }
+        rowUser[row] = userId;
+        lastDay[row] = today;
+        rows.put(userId, row);
+        return row;
+    }
+
+    // Free rows are left zeroed: every bucket, total and count is back to 0 before release
+    private void release(int row) {
+        rows.remove(rowUser[row]);
+        rowUser[row] = 0;
+        latestReport[row] = 0;
+        scores[row] = 0;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    private void grow(int capacity) {
+        rowUser = Arrays.copyOf(rowUser, capacity);
+        buckets = Arrays.copyOf(buckets, capacity * SIGNALS.length * windowDays);
+        totals = Arrays.copyOf(totals, capacity * SIGNALS.length);
+        lastDay = Arrays.copyOf(lastDay, capacity);
+        openReports = Arrays.copyOf(openReports, capacity);
+        latestReport = Arrays.copyOf(latestReport, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        queued = Arrays.copyOf(queued, capacity);
+    }
+
+    private int today() {
+        return dayOf(clock.getAsLong());
+    }
+
+    private static int dayOf(long epochMillis) {
+        return (int) Math.floorDiv(epochMillis, DAY_MS);
+    }
+}
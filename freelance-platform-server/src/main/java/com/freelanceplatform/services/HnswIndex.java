@@ -0,0 +1,221 @@
+package com.freelanceplatform.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Hierarchical navigable small world graph (Malkov and Yashunin) over the slots of a
+ * MappedVectorStore, using dot product on unit vectors as similarity. Only the links are
+ * on the heap; vectors are read from the store. Removed slots stay in the graph as
+ * waypoints and are filtered from results until the store is compacted and rebuilt.
+ *
+ * Searches may run concurrently with each other but not with add; callers hold a lock.
+ */
+public class HnswIndex {
+    private final MappedVectorStore vectors;
+    private final int maxLinks;       // Per node on upper layers (M)
+    private final int maxLinksLayer0; // 2M on the bottom layer
+    private final int efConstruction;
+    private final double levelFactor;
+    private final SplittableRandom random = new SplittableRandom(42); // Same inserts, same graph
+
+    // links[slot][layer] = {count, neighbor...}
+    private int[][][] links = new int[1024][][];
+    private int entryPoint = -1;
+    private int topLayer = -1;
+    private int nodes;
+
+    public record Hit(int slot, float score) {}
+
+    private record Candidate(int slot, float score) {}
+
+    private static final Comparator<Candidate> CLOSEST_FIRST = (a, b) -> Float.compare(b.score(), a.score());
+    private static final Comparator<Candidate> FARTHEST_FIRST = (a, b) -> Float.compare(a.score(), b.score());
+
+    public HnswIndex(MappedVectorStore vectors, int maxLinks, int efConstruction) {
+        this.vectors = vectors;
+        this.maxLinks = maxLinks;
+        this.maxLinksLayer0 = maxLinks * 2;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(maxLinks);
+    }
+
+    public int size() {
+        return nodes;
+    }
+
+    /** Links a slot that was just appended to the store. Slots must be added in order. */
+    public void add(int slot) {
+        if (slot >= links.length) {
+            links = Arrays.copyOf(links, Math.max(links.length * 2, slot + 1));
+        }
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+        int[][] layers = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            layers[layer] = new int[(layer == 0 ? maxLinksLayer0 : maxLinks) + 1];
+        }
+        links[slot] = layers;
+        nodes = Math.max(nodes, slot + 1);
+
+        int entry = entryPoint;
+        if (entry < 0) {
+            entryPoint = slot;
+            topLayer = level;
+            return;
+        }
+        float[] query = vectors.vector(slot);
+        for (int layer = topLayer; layer > level; layer--) {
+            entry = greedyClosest(query, entry, layer);
+        }
+        for (int layer = Math.min(level, topLayer); layer >= 0; layer--) {
+            PriorityQueue<Candidate> found = searchLayer(query, entry, efConstruction, layer);
+            List<Candidate> neighbors = selectNeighbors(found, layer == 0 ? maxLinksLayer0 : maxLinks);
+            for (Candidate neighbor : neighbors) {
+                connect(slot, neighbor.slot(), layer);
+                connect(neighbor.slot(), slot, layer);
+            }
+            entry = neighbors.isEmpty() ? entry : neighbors.get(0).slot();
+        }
+        if (level > topLayer) {
+            topLayer = level;
+            entryPoint = slot;
+        }
+    }
+
+    /** Up to k live slots most similar to the query, best first. */
+    public List<Hit> search(float[] query, int k, int ef) {
+        int entry = entryPoint;
+        if (entry < 0 || k <= 0) {
+            return List.of();
+        }
+        for (int layer = topLayer; layer > 0; layer--) {
+            entry = greedyClosest(query, entry, layer);
+        }
+        PriorityQueue<Candidate> found = searchLayer(query, entry, Math.max(ef, k), 0);
+        List<Candidate> best = new ArrayList<>(found);
+        best.sort(CLOSEST_FIRST);
+        List<Hit> hits = new ArrayList<>(k);
+        for (Candidate candidate : best) {
+            if (vectors.isLive(candidate.slot())) {
+                hits.add(new Hit(candidate.slot(), candidate.score()));
+                if (hits.size() == k) {
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private int greedyClosest(float[] query, int entry, int layer) {
+        int current = entry;
+        float currentScore = vectors.dot(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbors = links[current][layer];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                float score = vectors.dot(query, neighbors[i]);
+                if (score > currentScore) {
+                    currentScore = score;
+                    current = neighbors[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Beam search on one layer; returns up to ef closest nodes as a farthest-first heap
+    private PriorityQueue<Candidate> searchLayer(float[] query, int entry, int ef, int layer) {
+        BitSet visited = new BitSet(nodes);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(CLOSEST_FIRST);
+        PriorityQueue<Candidate> found = new PriorityQueue<>(ef + 1, FARTHEST_FIRST);
+        Candidate start = new Candidate(entry, vectors.dot(query, entry));
+        visited.set(entry);
+        candidates.add(start);
+        found.add(start);
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (found.size() >= ef && current.score() < found.peek().score()) {
+                break;
+            }
+            int[][] layers = links[current.slot()];
+            if (layers == null || layer >= layers.length) {
+                continue;
+            }
+            int[] neighbors = layers[layer];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int neighbor = neighbors[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float score = vectors.dot(query, neighbor);
+                if (found.size() < ef || score > found.peek().score()) {
+                    Candidate candidate = new Candidate(neighbor, score);
+                    candidates.add(candidate);
+                    found.add(candidate);
+                    if (found.size() > ef) {
+                        found.poll();
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Keeps a candidate only if it is closer to the new node than to any neighbor already kept,
+    // which spreads links across directions instead of spending them all on one dense cluster
+    private List<Candidate> selectNeighbors(PriorityQueue<Candidate> found, int limit) {
+        List<Candidate> sorted = new ArrayList<>(found);
+        sorted.sort(CLOSEST_FIRST);
+        List<Candidate> selected = new ArrayList<>(limit);
+        for (Candidate candidate : sorted) {
+            if (selected.size() == limit) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate kept : selected) {
+                if (vectors.dot(candidate.slot(), kept.slot()) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    private void connect(int from, int to, int layer) {
+        int[] neighbors = links[from][layer];
+        int count = neighbors[0];
+        for (int i = 1; i <= count; i++) {
+            if (neighbors[i] == to) {
+                return;
+            }
+        }
+        if (count < neighbors.length - 1) {
+            neighbors[count + 1] = to;
+            neighbors[0] = count + 1;
+            return;
+        }
+        // Full: re-select among the current links plus the new one
+        PriorityQueue<Candidate> pool = new PriorityQueue<>(FARTHEST_FIRST);
+        for (int i = 1; i <= count; i++) {
+            pool.add(new Candidate(neighbors[i], vectors.dot(from, neighbors[i])));
+        }
+        pool.add(new Candidate(to, vectors.dot(from, to)));
+        List<Candidate> kept = selectNeighbors(pool, neighbors.length - 1);
+        neighbors[0] = kept.size();
+        for (int i = 0; i < kept.size(); i++) {
+            neighbors[i + 1] = kept.get(i).slot();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.JobEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process fan-out of job events to open dashboards over SSE. An idle subscriber
+ * is just an async response and an empty buffer: no thread is held. Publishing
+ * only enqueues into each recipient's bounded buffer, and a virtual thread drains
+ * a buffer only while it has events. When a slow client lets its buffer fill, the
+ * oldest events are dropped and the client is sent "resync" so it re-reads its jobs.
+ *
+ * EventSource can't send an Authorization header, so a stream is opened with a stream
+ * ticket: a random, single-use id issued against the bearer token and valid for seconds,
+ * which keeps long-lived tokens out of URLs and access logs.
+ */
+@Component
+public class JobEventHub {
+
+    @Value("${job-events.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${job-events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${job-events.max-subscribers-per-user:8}")
+    private int maxSubscribersPerUser;
+
+    @Value("${job-events.ticket-ttl-ms:30000}")
+    private long ticketTtlMs;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, StreamTicket> tickets = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private record StreamTicket(Long userId, long expiresAt) {}
+
+    private final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<JobEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile boolean pingDue;
+        volatile boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(JobEvent event) {
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    dropped.increment();
+                    overflowed = true;
+                }
+            }
+            scheduleDrain();
+        }
+
+        void ping() {
+            pingDue = true;
+            scheduleDrain();
+        }
+
+        // At most one drain task per subscriber, so events go out in order
+        void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                while (!closed) {
+                    if (overflowed) {
+                        overflowed = false;
+                        emitter.send(SseEmitter.event().name("resync").data("{}"));
+                    }
+                    JobEvent event = buffer.poll();
+                    if (event == null) {
+                        if (pingDue) {
+                            pingDue = false;
+                            emitter.send(SseEmitter.event().comment("ping"));
+                        }
+                        break;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name("job")
+                            .id(event.jobId() + ":" + event.version())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    delivered.increment();
+                }
+            } catch (Exception e) {
+                close(); // Client went away
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !buffer.isEmpty()) {
+                scheduleDrain(); // An event arrived after the last poll
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            synchronized (subscribers) {
+                Set<Subscriber> set = subscribers.get(userId);
+                if (set != null && set.remove(this) && set.isEmpty()) {
+                    subscribers.remove(userId);
+                }
+            }
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    public String issueTicket(Long userId) {
+        String ticket = UUID.randomUUID().toString();
+        tickets.put(ticket, new StreamTicket(userId, System.currentTimeMillis() + ticketTtlMs));
+        return ticket;
+    }
+
+    // The ticket's user, or null if it is unknown, expired or already used
+    public Long redeemTicket(String ticket) {
+        StreamTicket redeemed = ticket == null ? null : tickets.remove(ticket);
+        if (redeemed == null || redeemed.expiresAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        return redeemed.userId();
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        Subscriber evicted = null;
+        synchronized (subscribers) {
+            Set<Subscriber> set = subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+            if (set.size() >= maxSubscribersPerUser) {
+                Iterator<Subscriber> it = set.iterator();
+                evicted = it.hasNext() ? it.next() : null; // Caps streams a single user can hold open
+            }
+            set.add(subscriber);
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+        subscriber.ping(); // Flushes the response headers so EventSource reports the stream open
+        return emitter;
+    }
+
+    public void publish(JobEvent event, Long... userIds) {
+        published.increment();
+        Set<Long> recipients = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                recipients.add(userId);
+            }
+        }
+        for (Long userId : recipients) {
+            Set<Subscriber> set = subscribers.get(userId);
+            if (set != null) {
+                for (Subscriber subscriber : set) {
+                    subscriber.offer(event);
+                }
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle streams and detects dead connections
+    @Scheduled(fixedDelayString = "${job-events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt() < now); // Issued but never redeemed
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.ping();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int open = 0;
+        for (Set<Subscriber> set : subscribers.values()) {
+            open += set.size();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("users", subscribers.size());
+        stats.put("subscribers", open);
+        stats.put("published", published.sum());
+        stats.put("delivered", delivered.sum());
+        stats.put("dropped", dropped.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.close();
+            }
+        }
+        sender.shutdown();
+    }
+}
@@ -0,0 +1,190 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.Job;
+import com.freelanceplatform.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over job titles and descriptions, ranked with BM25.
+ * Built from the jobs table once the application is ready and then kept current
+ * by JobService on post, edit and delete.
+ */
+@Component
+public class JobSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndex.class);
+    private static final int TITLE_BOOST = 2; // A title term counts as this many description terms
+    private static final double SKILL_WEIGHT = 1.5;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    // term -> (jobId -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // jobId -> distinct terms of that job, so updates can remove stale postings
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public record Hit(Long jobId, double score) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentLengths.clear();
+            totalLength = 0;
+            Page<Job> page = jobRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+            while (true) {
+                page.forEach(this::addDocument);
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = jobRepository.findAll(page.nextPageable());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Job search index built with {} jobs in {} ms", documents.size(), System.currentTimeMillis() - start);
+    }
+
+    public void index(Job job) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(job.getId());
+            addDocument(job);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, List<String> skills, int limit) {
+        Map<String, Double> queryWeights = new HashMap<>();
+        for (String term : TextNormalizer.words(query)) {
+            queryWeights.merge(term, 1.0, Double::sum);
+        }
+        if (skills != null) {
+            for (String skill : skills) {
+                for (String term : TextNormalizer.words(skill)) {
+                    queryWeights.merge(term, SKILL_WEIGHT, Double::sum);
+                }
+            }
+        }
+        if (queryWeights.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / docCount;
+            Map<Long, Double> scores = new HashMap<>();
+            for (Map.Entry<String, Double> entry : queryWeights.entrySet()) {
+                Map<Long, Integer> docs = postings.get(entry.getKey());
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                    int tf = posting.getValue();
+                    int length = documentLengths.get(posting.getKey());
+                    double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+                    scores.merge(posting.getKey(), entry.getValue() * idf * norm, Double::sum);
+                }
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Hit> topHits(Map<Long, Double> scores, int limit) {
+        PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.score(), b.score()));
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(new Hit(entry.getKey(), entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits;
+    }
+
+    private void addDocument(Job job) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String term : TextNormalizer.words(job.getTitle())) {
+            terms.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : TextNormalizer.words(job.getDescription())) {
+            terms.merge(term, 1, Integer::sum);
+        }
+        documents.put(job.getId(), terms);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(job.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        documentLengths.put(job.getId(), length);
+        totalLength += length;
+    }
+
+    private void removeDocument(Long jobId) {
+        Map<String, Integer> terms = documents.remove(jobId);
+        if (terms == null) {
+            return;
+        }
+        totalLength -= documentLengths.remove(jobId);
+        for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+            Map<Long, Integer> docs = postings.get(entry.getKey());
+            if (docs != null) {
+                docs.remove(jobId);
+                if (docs.isEmpty()) {
+                    postings.remove(entry.getKey());
+                }
+            }
+        }
+    }
+}
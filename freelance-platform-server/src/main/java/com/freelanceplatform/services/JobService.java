@@ -1,170 +1,329 @@
 package com.freelanceplatform.services;
 
+import com.freelanceplatform.model.CursorPage;
+import com.freelanceplatform.model.FreelancerMatch;
 import com.freelanceplatform.model.Job;
-import com.freelanceplatform.model.User;
+import com.freelanceplatform.model.JobEvent;
+import com.freelanceplatform.model.JobFeedFilter;
+import com.freelanceplatform.model.JobTransition;
+import com.freelanceplatform.model.UserCard;
 import com.freelanceplatform.repository.JobRepository;
+import com.freelanceplatform.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.Claims;
-
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
 
 @Service
 public class JobService {
-	private static String jwtSecret;
-    private static final String JWT_SECRET = "your-secret-key"; // Replace with your actual secret key
 
     @Autowired
     private JobRepository jobRepository;
 
     @Autowired
-    private UserService userService;
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private SkillMatchingService skillMatchingService;
+
+    @Autowired
+    private SemanticMatchingService semanticMatchingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AnalyticsService analyticsService;
 
-    public Job postJob(Job job, String token) {
-        Long clientId = extractUserIdFromToken(token);
-        User client = userService.getUser(clientId);
-        job.setClientId(client.getId());
+    @Autowired
+    private MetricsRollupStore metricsRollupStore;
+
+    @Autowired
+    private JobEventHub jobEventHub;
+
+    @Autowired
+    private FraudRiskEngine fraudRiskEngine;
+
+    public Job postJob(Job job, AuthPrincipal client) {
+        job.setClientId(client.id());
         job.setStatus("PENDING");
         job.setPaid(false);
         // freelancerId is set from the request body if provided, no additional validation needed here
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        jobSearchIndex.index(saved);
+        semanticMatchingService.jobChanged(saved.getId());
+        analyticsService.jobAdded(saved.getStatus());
+        metricsRollupStore.record(MetricsRollupStore.Metric.JOBS_POSTED);
+        return publish("POSTED", saved);
+    }
+    public CursorPage<Job> getJobFeed(JobFeedFilter filter, Long beforeId, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Job> rows = jobRepository.findFeed(
+                beforeId == null ? Long.MAX_VALUE : beforeId,
+                filter.status(), filter.minBudget(), filter.maxBudget(), filter.deadlineBefore(), filter.paid(),
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Job::getId);
     }
-    public List<Job> getAllJobs() {
-        return jobRepository.findAll();
+
+    // Ranking comes from the in-memory index; MySQL is only hit by primary key for the hits
+    public List<Job> searchJobs(String query, List<String> skills, Integer limit) {
+        List<JobSearchIndex.Hit> hits = jobSearchIndex.search(query, skills, CursorPage.clampLimit(limit));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Job> jobsById = jobRepository.findAllById(hits.stream().map(JobSearchIndex.Hit::jobId).toList())
+                .stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> jobsById.get(hit.jobId()))
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    public Job assignFreelancer(Long id, Long freelancerId, String token) {
-        Long clientId = extractUserIdFromToken(token);
-        User client = userService.getUser(clientId);
+    public List<FreelancerMatch> recommendFreelancers(Long jobId, Integer limit, AuthPrincipal principal) {
+        return recommendFreelancers(jobId, limit, false, principal);
+    }
+
+    // semantic: nearest resumes by embedding instead of exact skill overlap
+    public List<FreelancerMatch> recommendFreelancers(Long jobId, Integer limit, boolean semantic, AuthPrincipal principal) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
+        if (!job.getClientId().equals(principal.id())) {
+            throw new SecurityException("Unauthorized to view recommendations");
+        }
+        if (semantic) {
+            return semanticFreelancerMatches(job, CursorPage.clampLimit(limit));
+        }
+        List<SkillMatchingService.Match> matches = skillMatchingService.topFreelancers(job, CursorPage.clampLimit(limit));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> names = userRepository.findCardsByIdIn(matches.stream().map(SkillMatchingService.Match::freelancerId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserCard::id, card -> card.name() == null ? "" : card.name()));
+        return matches.stream()
+                .filter(match -> names.containsKey(match.freelancerId()))
+                .map(match -> new FreelancerMatch(match.freelancerId(), names.get(match.freelancerId()), match.score(), match.matchedSkills()))
+                .toList();
+    }
+
+    // Open jobs nearest to the freelancer's resume embedding, best first
+    public List<Job> recommendJobs(Long freelancerId, Integer limit, AuthPrincipal principal) {
+        if (!principal.id().equals(freelancerId)) {
+            throw new SecurityException("Unauthorized to view job recommendations");
+        }
+        List<SemanticMatchingService.Match> matches = semanticMatchingService.jobsForFreelancer(freelancerId, CursorPage.clampLimit(limit));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Job> jobsById = jobRepository.findAllById(matches.stream().map(SemanticMatchingService.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        return matches.stream()
+                .map(match -> jobsById.get(match.id()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public Job assignFreelancer(Long id, Long freelancerId, AuthPrincipal principal) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + id));
-        if (!job.getClientId().equals(client.getId())) {
+        if (!job.getClientId().equals(principal.id())) {
             throw new SecurityException("Unauthorized to assign freelancer");
         }
+        Long previousFreelancerId = job.getFreelancerId();
         job.setFreelancerId(freelancerId);
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        publish("ASSIGNED", saved, previousFreelancerId);
+        return saved;
     }
 
-    public List<Job> getJobsByFreelancer(Long freelancerId, String token) {
-        Long userId = extractUserIdFromToken(token);
-        User freelancer = userService.getUser(userId);
-        if (!freelancer.getId().equals(freelancerId)) {
+    public List<Job> getJobsByFreelancer(Long freelancerId, AuthPrincipal principal) {
+        if (!principal.id().equals(freelancerId)) {
             throw new SecurityException("Unauthorized access to freelancer jobs");
         }
         return jobRepository.findByFreelancerId(freelancerId);
     }
 
-    public List<Job> getJobsByClient(String token) {
-        Long clientId = extractUserIdFromToken(token);
-        User client = userService.getUser(clientId);
-        return jobRepository.findByClientId(client.getId());
+    public List<Job> getJobsByClient(AuthPrincipal principal) {
+        return jobRepository.findByClientId(principal.id());
     }
 
-    public Job setPrice(Long jobId, int price, String token) {
-        Long userId = extractUserIdFromToken(token);
-        User freelancer = userService.getUser(userId);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
-        if (!job.getFreelancerId().equals(freelancer.getId())) {
+    public Job setPrice(Long jobId, int price, AuthPrincipal principal) {
+        if (jobRepository.setPrice(jobId, principal.id(), price) == 1) {
+            return publish("PRICE_SET", findJob(jobId));
+        }
+        Job job = findJob(jobId);
+        if (!principal.id().equals(job.getFreelancerId())) {
             throw new SecurityException("Unauthorized to set price");
         }
-        job.setPrice(price);
-        return jobRepository.save(job);
+        throw new IllegalStateException("Price can't change after the job is paid");
     }
 
-    public Job updatePaymentStatus(Long jobId, boolean paid, String token) {
-        Long clientId = extractUserIdFromToken(token);
-        User client = userService.getUser(clientId);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
-        if (!job.getClientId().equals(client.getId())) {
+    public Job updatePaymentStatus(Long jobId, boolean paid, AuthPrincipal principal) {
+        Long clientId = principal.id();
+        if (!paid) {
+            if (jobRepository.markUnpaid(jobId, clientId) == 1) {
+                fraudRiskEngine.record(clientId, FraudRiskEngine.Signal.UNPAID);
+                return publish("UNPAID", findJob(jobId));
+            }
+            Job job = findJob(jobId);
+            if (!job.getClientId().equals(clientId)) {
+                throw new SecurityException("Unauthorized to update payment");
+            }
+            return job; // Already unpaid
+        }
+        Job job = applyTransition(jobId, clientId, JobTransition.PAY, () -> jobRepository.markPaid(jobId, clientId, JobTransition.PAY.from(), JobTransition.PAY.to()));
+        if (job != null) {
+            metricsRollupStore.record(MetricsRollupStore.Metric.PAYMENTS);
+            return job;
+        }
+        job = findJob(jobId);
+        if (!job.getClientId().equals(clientId)) {
             throw new SecurityException("Unauthorized to update payment");
         }
-        job.setPaid(paid);
-        if (paid) job.setStatus("ACTIVE");
-        return jobRepository.save(job);
+        if (job.isPaid()) {
+            return job; // Already paid
+        }
+        throw new IllegalStateException("Job " + jobId + " can't be paid in status " + job.getStatus());
     }
 
-    private Long extractUserIdFromToken(String token) {
-        String jwt = token.replace("Bearer ", "");
-        Claims claims = Jwts.parser()
-                .setSigningKey(JWT_SECRET)
-                .parseClaimsJws(jwt)
-                .getBody();
-        return Long.parseLong(claims.getSubject());
-    }
-    public void deleteJob(Long jobId, String token) {
-        Long clientId = extractUserIdFromToken(token);
-        User client = userService.getUser(clientId);
+    public void deleteJob(Long jobId, AuthPrincipal principal) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
-        if (!job.getClientId().equals(client.getId())) {
+        if (!job.getClientId().equals(principal.id())) {
             throw new SecurityException("Unauthorized to delete job");
         }
         jobRepository.delete(job);
+        jobSearchIndex.remove(jobId);
+        semanticMatchingService.jobRemoved(jobId);
+        analyticsService.jobRemoved(job.getStatus());
+        publish("DELETED", job);
     }
 
-    public Job editJob(Long jobId, Job updatedJob, String token) {
-        Long clientId = extractUserIdFromToken(token);
-        User client = userService.getUser(clientId);
+    public Job editJob(Long jobId, Job updatedJob, AuthPrincipal principal) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
-        if (!job.getClientId().equals(client.getId()) || job.isPaid()) {
+        if (!job.getClientId().equals(principal.id()) || job.isPaid()) {
             throw new SecurityException("Unauthorized or job already paid");
         }
         job.setTitle(updatedJob.getTitle());
         job.setDescription(updatedJob.getDescription());
         job.setEstimatedTime(updatedJob.getEstimatedTime());
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        jobSearchIndex.index(saved);
+        semanticMatchingService.jobChanged(saved.getId());
+        return publish("EDITED", saved);
     }
-    public Job completeJob(Long jobId, String token) {
-    	Long userId = extractUserIdFromToken(token);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
-        User user = userService.getUser(userId);
-        if (job.getFreelancerId() != null && job.getFreelancerId().equals(userId)) {
-            job.setStatus("COMPLETED"); 
-        } else if (job.getClientId().equals(userId) && job.getPrice() != null) {
-            job.setStatus("COMPLETED");
-        } else {
-            throw new SecurityException("Unauthorized to accept job");
+    public Job completeJob(Long jobId, AuthPrincipal principal) {
+        Long userId = principal.id();
+        Job job = applyTransition(jobId, userId, JobTransition.COMPLETE, () -> jobRepository.advance(jobId, userId, JobTransition.COMPLETE.from(), JobTransition.COMPLETE.to()));
+        if (job != null) {
+            return job;
         }
-        return jobRepository.save(job);
+        job = findJob(jobId);
+        if (!isParticipant(job, userId)) {
+            throw new SecurityException("Unauthorized to complete job");
+        }
+        return rejectTransition(job, JobTransition.COMPLETE);
     }
-    
-
 
-    public Job acceptJob(Long jobId, String token) {
-        Long userId = extractUserIdFromToken(token);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
-        User user = userService.getUser(userId);
-        if (job.getFreelancerId() != null && job.getFreelancerId().equals(userId)) {
-            job.setStatus("ACCEPTED"); // New status for freelancer acceptance
-        } else if (job.getClientId().equals(userId) && job.getPrice() != null) {
-            job.setStatus("ACCEPTED"); // Client accepts price
-        } else {
+    public Job acceptJob(Long jobId, AuthPrincipal principal) {
+        Long userId = principal.id();
+        Job job = applyTransition(jobId, userId, JobTransition.ACCEPT, () -> jobRepository.advance(jobId, userId, JobTransition.ACCEPT.from(), JobTransition.ACCEPT.to()));
+        if (job != null) {
+            return job;
+        }
+        job = findJob(jobId);
+        if (!isParticipant(job, userId)) {
             throw new SecurityException("Unauthorized to accept job");
         }
-        return jobRepository.save(job);
+        return rejectTransition(job, JobTransition.ACCEPT);
     }
 
-    public Job ignoreJob(Long jobId, String token) {
-        Long userId = extractUserIdFromToken(token);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
-        User user = userService.getUser(userId);
-        if (job.getFreelancerId() != null && job.getFreelancerId().equals(userId)) {
-            job.setFreelancerId(null); // Freelancer ignores, removes assignment
-            job.setStatus("PENDING");
-        } else if (job.getClientId().equals(userId) && !job.isPaid()) {
-            job.setStatus("IGNORED"); // Client ignores, marks as ignored
+    // The assigned freelancer releases the job back to PENDING; the client marks it IGNORED
+    public Job ignoreJob(Long jobId, AuthPrincipal principal) {
+        Long userId = principal.id();
+        Job job;
+        if ("FREELANCER".equals(principal.role())) {
+            job = applyTransition(jobId, userId, JobTransition.RELEASE, () -> jobRepository.release(jobId, userId, JobTransition.RELEASE.from(), JobTransition.RELEASE.to()));
+            if (job != null) {
+                // Declining a new request is normal; only walking away from an accepted job counts
+                if ("ACCEPTED".equals(job.getPreviousStatus())) {
+                    fraudRiskEngine.record(userId, FraudRiskEngine.Signal.JOB_RELEASED);
+                }
+                return job;
+            }
         } else {
+            job = applyTransition(jobId, userId, JobTransition.IGNORE, () -> jobRepository.ignore(jobId, userId, JobTransition.IGNORE.from(), JobTransition.IGNORE.to()));
+            if (job != null) {
+                fraudRiskEngine.record(userId, FraudRiskEngine.Signal.JOB_IGNORED);
+                return job;
+            }
+        }
+        job = findJob(jobId);
+        if (!userId.equals(job.getFreelancerId()) && !job.getClientId().equals(userId)) {
             throw new SecurityException("Unauthorized to ignore job");
         }
-        return jobRepository.save(job);
+        throw new IllegalStateException("Job " + jobId + " can't be ignored in status " + job.getStatus() + (job.isPaid() ? " after payment" : ""));
+    }
+
+    // One conditional UPDATE from any allowed source state, then one read for the event;
+    // returns the updated job (its previousStatus is the source state), or null if nothing matched
+    private Job applyTransition(Long jobId, Long actorId, JobTransition transition, IntSupplier update) {
+        if (update.getAsInt() != 1) {
+            return null;
+        }
+        Job job = findJob(jobId);
+        analyticsService.jobStatusChanged(job.getPreviousStatus(), transition.to());
+        semanticMatchingService.jobChanged(jobId);
+        // The actor is notified too: a freelancer who released the job is no longer on it
+        return publish(transition.name(), job, actorId);
+    }
+
+    private List<FreelancerMatch> semanticFreelancerMatches(Job job, int limit) {
+        List<SemanticMatchingService.Match> matches = semanticMatchingService.freelancersForJob(job, limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> names = userRepository.findCardsByIdIn(matches.stream().map(SemanticMatchingService.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(UserCard::id, card -> card.name() == null ? "" : card.name()));
+        return matches.stream()
+                .filter(match -> names.containsKey(match.id()))
+                .map(match -> new FreelancerMatch(match.id(), names.get(match.id()), match.score(), List.of()))
+                .toList();
+    }
+
+    private Job publish(String type, Job job, Long... otherRecipients) {
+        Long[] recipients = new Long[otherRecipients.length + 2];
+        recipients[0] = job.getClientId();
+        recipients[1] = job.getFreelancerId();
+        System.arraycopy(otherRecipients, 0, recipients, 2, otherRecipients.length);
+        jobEventHub.publish(JobEvent.of(type, job), recipients);
+        return job;
+    }
+
+    // A repeated request for a transition that already happened returns the job unchanged
+    private Job rejectTransition(Job job, JobTransition transition) {
+        if (transition.to().equals(job.getStatus())) {
+            return job;
+        }
+        throw new IllegalStateException("Job " + job.getId() + " can't go from " + job.getStatus() + " to " + transition.to());
+    }
+
+    private boolean isParticipant(Job job, Long userId) {
+        return userId.equals(job.getFreelancerId()) || (job.getClientId().equals(userId) && job.getPrice() != null);
+    }
+
+    private Job findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.freelanceplatform.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only file of fixed-size (entity id, float[dimension]) records, memory-mapped
+ * so vectors live in the page cache rather than on the Java heap. A record is addressed
+ * by its slot number. Removing an entity only negates its id (a tombstone) so slots never
+ * move under a live index; compactTo writes the live records to a fresh file.
+ *
+ * The header records the embedding provider and dimension, and open() starts a new file
+ * when either no longer matches. Writes must come from a single thread; reads may run
+ * concurrently with an append because they only touch slots below the published size.
+ */
+public class MappedVectorStore implements Closeable {
+    private static final int MAGIC = 0x56454331; // "VEC1"
+    private static final int HEADER_BYTES = 128;
+    private static final int PROVIDER_BYTES = 96;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final Path path;
+    private final int dimension;
+    private final int recordBytes;
+    private final String providerId;
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private volatile int size;
+    private int capacity;
+    private int tombstones;
+
+    private MappedVectorStore(Path path, String providerId, int dimension) {
+        this.path = path;
+        this.providerId = providerId;
+        this.dimension = dimension;
+        this.recordBytes = Long.BYTES + dimension * Float.BYTES;
+    }
+
+    public static MappedVectorStore open(Path path, String providerId, int dimension) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        MappedVectorStore store = new MappedVectorStore(path, providerId, dimension);
+        store.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (!store.readHeader()) {
+            store.channel.truncate(0);
+            store.map(MIN_CAPACITY);
+            store.writeHeader();
+        }
+        return store;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int tombstones() {
+        return tombstones;
+    }
+
+    // Entity id in the slot; negative once removed
+    public long id(int slot) {
+        return buffer.getLong(offset(slot));
+    }
+
+    public boolean isLive(int slot) {
+        return id(slot) > 0;
+    }
+
+    public int append(long id, float[] vector) throws IOException {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected " + dimension + " dimensions, got " + vector.length);
+        }
+        if (size == capacity) {
+            map(capacity * 2);
+        }
+        int slot = size;
+        MappedByteBuffer b = buffer;
+        int offset = offset(slot);
+        b.putLong(offset, id);
+        for (int i = 0; i < dimension; i++) {
+            b.putFloat(offset + Long.BYTES + i * Float.BYTES, vector[i]);
+        }
+        size = slot + 1; // Publishes the record to readers
+        b.putInt(12, size);
+        return slot;
+    }
+
+    public void remove(int slot) {
+        long id = id(slot);
+        if (id > 0) {
+            buffer.putLong(offset(slot), -id);
+            tombstones++;
+        }
+    }
+
+    public float[] vector(int slot) {
+        float[] vector = new float[dimension];
+        int offset = offset(slot) + Long.BYTES;
+        MappedByteBuffer b = buffer;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = b.getFloat(offset + i * Float.BYTES);
+        }
+        return vector;
+    }
+
+    public float dot(float[] query, int slot) {
+        int offset = offset(slot) + Long.BYTES;
+        MappedByteBuffer b = buffer;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += query[i] * b.getFloat(offset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    public float dot(int slotA, int slotB) {
+        int a = offset(slotA) + Long.BYTES;
+        int b = offset(slotB) + Long.BYTES;
+        MappedByteBuffer buf = buffer;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += buf.getFloat(a + i * Float.BYTES) * buf.getFloat(b + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    /** Copies the live records, in slot order, to a new store at target and returns it. */
+    public MappedVectorStore compactTo(Path target) throws IOException {
+        Files.deleteIfExists(target);
+        MappedVectorStore compacted = open(target, providerId, dimension);
+        for (int slot = 0; slot < size; slot++) {
+            if (isLive(slot)) {
+                compacted.append(id(slot), vector(slot));
+            }
+        }
+        return compacted;
+    }
+
+    /** Moves this store's file over target, e.g. a compacted copy over the original path. */
+    public void replace(Path target) throws IOException {
+        buffer.force();
+        Files.move(path, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private boolean readHeader() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_BYTES) {
+            return false;
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] provider = new byte[PROVIDER_BYTES];
+        header.get(32, provider);
+        int storedSize = header.getInt(12);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != dimension
+                || !providerId.equals(new String(provider, StandardCharsets.UTF_8).trim())
+                || HEADER_BYTES + (long) storedSize * recordBytes > fileSize) {
+            return false;
+        }
+        map(Math.max(MIN_CAPACITY, (int) ((fileSize - HEADER_BYTES) / recordBytes)));
+        size = storedSize;
+        for (int slot = 0; slot < size; slot++) {
+            if (!isLive(slot)) {
+                tombstones++;
+            }
+        }
+        return true;
+    }
+
+    private void writeHeader() {
+        MappedByteBuffer b = buffer;
+        b.putInt(0, MAGIC);
+        b.putInt(4, dimension);
+        b.putInt(8, recordBytes);
+        b.putInt(12, size);
+        byte[] provider = Arrays.copyOf(providerId.getBytes(StandardCharsets.UTF_8), PROVIDER_BYTES);
+        for (int i = 0; i < provider.length; i++) {
+            if (provider[i] == 0) {
+                provider[i] = ' ';
+            }
+        }
+        b.put(32, provider);
+    }
+
+    // Remapping keeps earlier mappings valid, so readers holding the old buffer are unaffected
+    private void map(int newCapacity) throws IOException {
+        long bytes = HEADER_BYTES + (long) newCapacity * recordBytes;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Vector file would exceed 2 GB; lower embedding.dimension");
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        capacity = newCapacity;
+        buffer = mapped;
+    }
+
+    private int offset(int slot) {
+        return HEADER_BYTES + slot * recordBytes;
+    }
+}
@@ -0,0 +1,213 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.MetricRollup;
+import com.freelanceplatform.model.RollupSeries;
+import com.freelanceplatform.repository.MetricRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Event counts for the admin dashboard, pre-aggregated into per-minute (last 2 days)
+ * and per-hour (last 90 days) buckets. Each granularity is a ring of long[] slots
+ * indexed by bucket number, so recording an event is two array increments and a
+ * range query is an array walk. Dirty buckets are written to metric_rollups every
+ * minute; ranges older than the rings are read back from that table by index.
+ */
+@Component
+public class MetricsRollupStore {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRollupStore.class);
+    private static final int MAX_BUCKETS = 10_000; // Per query
+
+    public enum Metric { REGISTRATIONS, JOBS_POSTED, PAYMENTS, FRAUD_REPORTS }
+
+    public enum Granularity {
+        MINUTE(60_000L, 2 * 24 * 60),
+        HOUR(3_600_000L, 90 * 24);
+
+        final long bucketMillis;
+        final int slots;
+
+        Granularity(long bucketMillis, int slots) {
+            this.bucketMillis = bucketMillis;
+            this.slots = slots;
+        }
+    }
+
+    @Autowired
+    private MetricRollupRepository rollupRepository;
+
+    private final Ring[] rings = new Ring[Granularity.values().length];
+
+    // Slots are shared by all metrics; a slot is reused once its bucket falls out of the window
+    private static final class Ring {
+        final Granularity granularity;
+        final long[] bucketStarts;
+        final long[][] counts; // [metric][slot]
+        final BitSet dirty;
+
+        Ring(Granularity granularity) {
+            this.granularity = granularity;
+            this.bucketStarts = new long[granularity.slots];
+            this.counts = new long[Metric.values().length][granularity.slots];
+            this.dirty = new BitSet(granularity.slots);
+        }
+
+        int slot(long bucketStart) {
+            return (int) ((bucketStart / granularity.bucketMillis) % granularity.slots);
+        }
+
+        // Slot for the bucket, cleared first if it still holds an older bucket
+        int claim(long bucketStart) {
+            int slot = slot(bucketStart);
+            if (bucketStarts[slot] != bucketStart) {
+                bucketStarts[slot] = bucketStart;
+                for (long[] metricCounts : counts) {
+                    metricCounts[slot] = 0;
+                }
+            }
+            return slot;
+        }
+
+        long oldestBucket(long now) {
+            return bucketStart(now) - (long) (granularity.slots - 1) * granularity.bucketMillis;
+        }
+
+        long bucketStart(long at) {
+            return at - Math.floorMod(at, granularity.bucketMillis);
+        }
+    }
+
+    public MetricsRollupStore() {
+        for (Granularity granularity : Granularity.values()) {
+            rings[granularity.ordinal()] = new Ring(granularity);
+        }
+    }
+
+    public void record(Metric metric) {
+        record(metric, System.currentTimeMillis(), 1);
+    }
+
+    public synchronized void record(Metric metric, long at, long count) {
+        for (Ring ring : rings) {
+            long bucketStart = ring.bucketStart(at);
+            if (bucketStart < ring.oldestBucket(System.currentTimeMillis())) {
+                continue;
+            }
+            int slot = ring.claim(bucketStart);
+            ring.counts[metric.ordinal()][slot] += count;
+            ring.dirty.set(slot);
+        }
+    }
+
+    public RollupSeries query(Metric metric, Granularity granularity, long from, long to) {
+        if (to <= from) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        Ring ring = rings[granularity.ordinal()];
+        long start = ring.bucketStart(from);
+        long buckets = (to - start + granularity.bucketMillis - 1) / granularity.bucketMillis;
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Range spans " + buckets + " " + granularity + " buckets; max is " + MAX_BUCKETS);
+        }
+        long[] counts = new long[(int) buckets];
+        long oldest;
+        synchronized (this) {
+            oldest = ring.oldestBucket(System.currentTimeMillis());
+            for (int i = 0; i < counts.length; i++) {
+                long bucketStart = start + i * granularity.bucketMillis;
+                int slot = ring.slot(bucketStart);
+                if (bucketStart >= oldest && ring.bucketStarts[slot] == bucketStart) {
+                    counts[i] = ring.counts[metric.ordinal()][slot];
+                }
+            }
+        }
+        if (start < oldest) {
+            for (MetricRollup row : rollupRepository.findByMetricAndGranularityAndBucketStartBetween(
+                    metric.name(), granularity.name(), start, Math.min(oldest, to) - 1)) {
+                counts[(int) ((row.getBucketStart() - start) / granularity.bucketMillis)] = row.getCount();
+            }
+        }
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return new RollupSeries(metric.name(), granularity.name(), start, granularity.bucketMillis, counts, total);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (Ring ring : rings) {
+            for (Metric metric : Metric.values()) {
+                List<MetricRollup> rows = rollupRepository.findByMetricAndGranularityAndBucketStartBetween(
+                        metric.name(), ring.granularity.name(), ring.oldestBucket(now), Long.MAX_VALUE);
+                synchronized (this) {
+                    // Added, not assigned: events recorded since startup are already in the slot
+                    for (MetricRollup row : rows) {
+                        ring.counts[metric.ordinal()][ring.claim(row.getBucketStart())] += row.getCount();
+                    }
+                }
+                loaded += rows.size();
+            }
+        }
+        logger.info("Metrics rollup store loaded {} buckets", loaded);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${metrics.rollup.flush-interval-ms:60000}")
+    public void flush() {
+        List<MetricRollup> rows = new ArrayList<>();
+        synchronized (this) {
+            for (Ring ring : rings) {
+                for (int slot = ring.dirty.nextSetBit(0); slot >= 0; slot = ring.dirty.nextSetBit(slot + 1)) {
+                    for (Metric metric : Metric.values()) {
+                        long count = ring.counts[metric.ordinal()][slot];
+                        if (count > 0) {
+                            rows.add(row(metric, ring.granularity, ring.bucketStarts[slot], count));
+                        }
+                    }
+                }
+                ring.dirty.clear();
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            rollupRepository.saveAll(rows);
+        } catch (Exception e) {
+            // Put the buckets back so the next flush retries them
+            logger.warn("Could not persist {} metric rollups: {}", rows.size(), e.getMessage());
+            synchronized (this) {
+                for (MetricRollup row : rows) {
+                    Ring ring = rings[Granularity.valueOf(row.getGranularity()).ordinal()];
+                    int slot = ring.slot(row.getBucketStart());
+                    if (ring.bucketStarts[slot] == row.getBucketStart()) {
+                        ring.dirty.set(slot);
+                    }
+                }
+            }
+        }
+    }
+
+    private static MetricRollup row(Metric metric, Granularity granularity, long bucketStart, long count) {
+        MetricRollup row = new MetricRollup();
+        row.setRollupKey(metric.name() + ":" + granularity.name() + ":" + bucketStart);
+        row.setMetric(metric.name());
+        row.setGranularity(granularity.name());
+        row.setBucketStart(bucketStart);
+        row.setCount(count);
+        return row;
+    }
+}
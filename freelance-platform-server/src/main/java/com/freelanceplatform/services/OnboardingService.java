@@ -0,0 +1,233 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.OnboardingTicket;
+import com.freelanceplatform.model.User;
+import com.freelanceplatform.repository.OnboardingTicketRepository;
+import com.freelanceplatform.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous freelancer registration. An upload is spooled to disk and recorded as
+ * an ACCEPTED ticket, and the caller gets the ticket id straight away. A fixed pool
+ * of workers then moves each ticket through text extraction, Gemini parsing and the
+ * user insert, saving after every stage. The onboarding_tickets table is the queue:
+ * tickets that don't fit the in-memory work queue, fail transiently or were in
+ * flight during a restart are picked up again by a periodic sweep.
+ */
+@Service
+public class OnboardingService {
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingService.class);
+    private static final List<String> PENDING_STATUSES = List.of("ACCEPTED", "TEXT_EXTRACTED", "PARSED");
+
+    @Value("${onboarding.workers:4}")
+    private int workers;
+
+    @Value("${onboarding.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${onboarding.max-attempts:3}")
+    private int maxAttempts;
+
+    // Pending tickets point at their spooled file, so this must survive a restart
+    @Value("${onboarding.spool-dir:data/onboarding}")
+    private String spoolDir;
+
+    @Autowired
+    private OnboardingTicketRepository ticketRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(Paths.get(spoolDir));
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public OnboardingTicket submit(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("PDF file cannot be null or empty");
+        }
+        String ticketId = UUID.randomUUID().toString();
+        Path spooled = Paths.get(spoolDir, ticketId + ".pdf");
+        file.transferTo(spooled);
+
+        long now = System.currentTimeMillis();
+        OnboardingTicket ticket = new OnboardingTicket();
+        ticket.setId(ticketId);
+        ticket.setStatus("ACCEPTED");
+        ticket.setFilePath(spooled.toString());
+        ticket.setCreatedAt(now);
+        ticket.setUpdatedAt(now);
+        ticketRepository.save(ticket);
+        enqueue(ticketId);
+        return ticket;
+    }
+
+    public OnboardingTicket getTicket(String ticketId) {
+        return ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new IllegalArgumentException("Onboarding ticket not found: " + ticketId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${onboarding.sweep-interval-ms:15000}")
+    public void sweep() {
+        int free = queueCapacity - executor.getQueue().size();
+        if (free <= 0) {
+            return;
+        }
+        for (OnboardingTicket ticket : ticketRepository.findByStatusInOrderByCreatedAtAsc(PENDING_STATUSES, PageRequest.of(0, free))) {
+            enqueue(ticket.getId());
+        }
+    }
+
+    private void enqueue(String ticketId) {
+        if (!inFlight.add(ticketId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(ticketId);
+                } finally {
+                    inFlight.remove(ticketId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full: the ticket stays in the table and the next sweep retries it
+            inFlight.remove(ticketId);
+            logger.debug("Onboarding queue full, ticket {} deferred", ticketId);
+        }
+    }
+
+    private void process(String ticketId) {
+        OnboardingTicket ticket = ticketRepository.findById(ticketId).orElse(null);
+        if (ticket == null) {
+            return;
+        }
+        try {
+            if ("ACCEPTED".equals(ticket.getStatus())) {
+                String resumeText = pdfTextExtractor.extract(Paths.get(ticket.getFilePath()));
+                if (resumeText == null || resumeText.trim().isEmpty()) {
+                    fail(ticket, "No text could be extracted from the PDF");
+                    return;
+                }
+                ticket.setResumeText(resumeText);
+                advance(ticket, "TEXT_EXTRACTED");
+            }
+            if ("TEXT_EXTRACTED".equals(ticket.getStatus())) {
+                ticket.setParsedData(userService.parseResume(ticket.getResumeText()));
+                advance(ticket, "PARSED");
+            }
+            if ("PARSED".equals(ticket.getStatus())) {
+                User user = persist(ticket);
+                deleteSpooledFile(ticket);
+                try {
+                    userService.freelancerAdded(user);
+                } catch (Exception e) {
+                    // The user is committed; retrying would insert a duplicate, indexes catch up on their next rebuild
+                    logger.warn("Onboarding ticket {} persisted user {} but index update failed: {}",
+                            ticketId, user.getId(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            ticket.setAttempts(ticket.getAttempts() + 1);
+            logger.warn("Onboarding ticket {} failed at {} (attempt {}): {}",
+                    ticketId, ticket.getStatus(), ticket.getAttempts(), e.getMessage());
+            if (ticket.getAttempts() >= maxAttempts) {
+                fail(ticket, e.getMessage());
+            } else {
+                ticket.setUpdatedAt(System.currentTimeMillis());
+                ticketRepository.save(ticket);
+            }
+        }
+    }
+
+    // The user row and the PERSISTED ticket commit together, so a failed stage never leaves
+    // a user behind for the retry to insert again
+    private User persist(OnboardingTicket ticket) {
+        User user = userService.newFreelancer(ticket.getResumeText(), ticket.getParsedData());
+        String resumeText = ticket.getResumeText();
+        String parsedData = ticket.getParsedData();
+        try {
+            return transactionTemplate.execute(tx -> {
+                User saved = userRepository.save(user);
+                ticket.setUserId(saved.getId());
+                ticket.setResumeText(null);
+                ticket.setParsedData(null);
+                advance(ticket, "PERSISTED");
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            // Rolled back: put the ticket back in PARSED before the retry bookkeeping saves it
+            ticket.setUserId(null);
+            ticket.setResumeText(resumeText);
+            ticket.setParsedData(parsedData);
+            ticket.setStatus("PARSED");
+            throw e;
+        }
+    }
+
+    private void advance(OnboardingTicket ticket, String status) {
+        ticket.setStatus(status);
+        ticket.setUpdatedAt(System.currentTimeMillis());
+        ticketRepository.save(ticket);
+    }
+
+    private void fail(OnboardingTicket ticket, String error) {
+        ticket.setError(error);
+        advance(ticket, "FAILED");
+        deleteSpooledFile(ticket);
+    }
+
+    private void deleteSpooledFile(OnboardingTicket ticket) {
+        try {
+            Files.deleteIfExists(Paths.get(ticket.getFilePath()));
+        } catch (IOException e) {
+            logger.warn("Could not delete spooled resume {}: {}", ticket.getFilePath(), e.getMessage());
+        }
+    }
+}
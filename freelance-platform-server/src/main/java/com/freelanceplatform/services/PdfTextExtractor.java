@@ -0,0 +1,100 @@
+package com.freelanceplatform.services;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Extracts resume text with bounded memory. The upload is streamed to a temp file
+ * and opened from disk, PDFBox keeps its scratch buffers in temp files beyond a small
+ * in-memory budget, and text is pulled one page at a time into a capped buffer.
+ * Heap use per upload therefore doesn't grow with the size of the PDF.
+ */
+@Component
+public class PdfTextExtractor {
+
+    @Value("${pdf.max-pages:20}")
+    private int maxPages;
+
+    @Value("${pdf.max-chars:100000}")
+    private int maxChars;
+
+    @Value("${pdf.max-main-memory-bytes:1048576}")
+    private long maxMainMemoryBytes;
+
+    public String extract(MultipartFile file) throws IOException {
+        Path pdf = Files.createTempFile("resume-", ".pdf");
+        try {
+            file.transferTo(pdf); // Streams Tomcat's part to disk, no byte[] copy
+            return extract(pdf);
+        } finally {
+            Files.deleteIfExists(pdf);
+        }
+    }
+
+    public String extract(Path pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf.toFile(), MemoryUsageSetting.setupMixed(maxMainMemoryBytes))) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            BoundedWriter out = new BoundedWriter(maxChars);
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+            for (int page = 1; page <= pages && !out.isFull(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                stripper.writeText(document, out);
+            }
+            return out.toString();
+        }
+    }
+
+    // Keeps the first `limit` characters and silently drops the rest
+    private static class BoundedWriter extends Writer {
+        private final StringBuilder buffer;
+        private final int limit;
+
+        BoundedWriter(int limit) {
+            this.limit = limit;
+            this.buffer = new StringBuilder(Math.min(limit, 8192));
+        }
+
+        boolean isFull() {
+            return buffer.length() >= limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            int remaining = limit - buffer.length();
+            if (remaining > 0) {
+                buffer.append(chars, offset, Math.min(length, remaining));
+            }
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            int remaining = limit - buffer.length();
+            if (remaining > 0) {
+                buffer.append(str, offset, offset + Math.min(length, remaining));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.Quiz;
+import com.freelanceplatform.model.QuizAnswers;
+import com.freelanceplatform.model.QuizGrade;
+import com.freelanceplatform.model.User;
+import com.freelanceplatform.repository.QuizRepository;
+import com.freelanceplatform.repository.UserRepository;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps generated quizzes server-side and grades them locally. The answer key is
+ * stored when a quiz is issued and stripped from what the client receives, so a
+ * submission is graded by comparing indices, with no call to Gemini.
+ */
+@Service
+public class QuizService {
+    private static final Logger logger = LoggerFactory.getLogger(QuizService.class);
+    private static final int PASS_THRESHOLD = 3; // Correct answers needed to pass
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillMatchingService skillMatchingService;
+
+    @Autowired
+    private SemanticMatchingService semanticMatchingService;
+
+    // Returns {"quizId": ..., "questions": [...]} with the answers removed; error strings pass through
+    public String issueQuiz(Long userId, String generatedQuiz) {
+        JSONObject parsed;
+        try {
+            parsed = new JSONObject(generatedQuiz);
+        } catch (Exception e) {
+            return generatedQuiz;
+        }
+        JSONArray questions = parsed.optJSONArray("questions");
+        if (questions == null) {
+            return generatedQuiz;
+        }
+
+        List<String> answerKey = new ArrayList<>();
+        for (int i = 0; i < questions.length(); i++) {
+            JSONObject question = questions.getJSONObject(i);
+            answerKey.add(String.valueOf(question.optInt("answer", -1)));
+            question.remove("answer");
+        }
+
+        Quiz quiz = new Quiz();
+        quiz.setUserId(userId);
+        quiz.setQuestions(questions.toString());
+        quiz.setAnswerKey(String.join(",", answerKey));
+        quiz.setCreatedAt(System.currentTimeMillis());
+        Quiz saved = quizRepository.save(quiz);
+
+        JSONObject issued = new JSONObject();
+        issued.put("quizId", saved.getId());
+        issued.put("questions", questions);
+        return issued.toString();
+    }
+
+    public QuizGrade grade(Long quizId, Long userId, String answers) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new IllegalArgumentException("Quiz not found with ID: " + quizId));
+        if (userId != null && !userId.equals(quiz.getUserId())) {
+            throw new IllegalArgumentException("Quiz " + quizId + " was not issued to user " + userId);
+        }
+        if (quiz.isGraded()) {
+            throw new IllegalStateException("Quiz " + quizId + " has already been submitted");
+        }
+
+        String[] expected = quiz.getAnswerKey().split(",");
+        String[] given = answers == null ? new String[0] : answers.split(",");
+        int correct = 0;
+        for (int i = 0; i < expected.length && i < given.length; i++) {
+            if (expected[i].trim().equals(given[i].trim())) {
+                correct++;
+            }
+        }
+        boolean passed = correct >= PASS_THRESHOLD;
+
+        // The isGraded check above only fails fast; this conditional update is what lets
+        // exactly one of several concurrent submissions record a result
+        if (quizRepository.markGraded(quizId, passed) == 0) {
+            throw new IllegalStateException("Quiz " + quizId + " has already been submitted");
+        }
+        if (passed) {
+            activate(quiz.getUserId());
+        }
+        logger.info("Quiz {} for user {}: {}/{} correct, passed={}", quizId, quiz.getUserId(), correct, expected.length, passed);
+        return new QuizGrade(quizId, quiz.getUserId(), correct, expected.length, passed);
+    }
+
+    // Admin batch: each submission is graded independently; failures are logged and skipped
+    public List<QuizGrade> gradeAll(List<QuizAnswers> submissions) {
+        List<QuizGrade> grades = new ArrayList<>();
+        for (QuizAnswers submission : submissions) {
+            try {
+                grades.add(grade(submission.quizId(), null, submission.answers()));
+            } catch (Exception e) {
+                logger.warn("Skipping quiz {}: {}", submission.quizId(), e.getMessage());
+            }
+        }
+        return grades;
+    }
+
+    private void activate(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
+        user.setActive(true);
+        userRepository.save(user);
+        skillMatchingService.refresh(userId);
+        semanticMatchingService.freelancerChanged(userId);
+    }
+}
@@ -0,0 +1,393 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.ai.EmbeddingProvider;
+import com.freelanceplatform.model.Job;
+import com.freelanceplatform.model.UserCard;
+import com.freelanceplatform.repository.JobRepository;
+import com.freelanceplatform.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Semantic matching between freelancers and open jobs. Each side has its own space:
+ * embeddings in a memory-mapped MappedVectorStore file under embedding.dir, searched
+ * through an HnswIndex. Vectors survive restarts, so startup only embeds entities
+ * that are new since the last run and drops ones that are gone.
+ *
+ * All writes (embedding calls included) run on one background thread, so callers never
+ * wait on the embedding provider and the stores see a single writer. Active freelancers
+ * and PENDING jobs are indexed; queries made before the startup sync finishes return nothing.
+ */
+@Component
+public class SemanticMatchingService {
+    private static final Logger logger = LoggerFactory.getLogger(SemanticMatchingService.class);
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1000;
+
+    @Value("${embedding.dir:data/embeddings}")
+    private String directory;
+
+    @Value("${embedding.hnsw.m:16}")
+    private int maxLinks;
+
+    @Value("${embedding.hnsw.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${embedding.hnsw.ef-search:64}")
+    private int efSearch;
+
+    @Value("${embedding.compact-ratio:0.3}")
+    private double compactRatio;
+
+    @Value("${embedding.resume-chars:4000}")
+    private int resumeChars;
+
+    @Autowired
+    private EmbeddingProvider embeddingProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final Space freelancers = new Space("freelancers");
+    private final Space jobs = new Space("jobs");
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "semantic-index-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean ready;
+
+    public record Match(Long id, double score) {}
+
+    // One entity kind: vector file, graph over its slots, and entity id -> live slot
+    private final class Space {
+        final String name;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        MappedVectorStore store;
+        HnswIndex graph;
+        Map<Long, Integer> slots = new HashMap<>();
+
+        Space(String name) {
+            this.name = name;
+        }
+
+        Path path() {
+            return Path.of(directory, name + ".vec");
+        }
+
+        // Reopens the file, dropping tombstones first, and rebuilds the graph from it
+        void open() throws IOException {
+            MappedVectorStore opened = MappedVectorStore.open(path(), embeddingProvider.id(), embeddingProvider.dimension());
+            if (opened.tombstones() > 0) {
+                opened = swapInCompacted(opened);
+            }
+            HnswIndex index = new HnswIndex(opened, maxLinks, efConstruction);
+            Map<Long, Integer> ids = new HashMap<>();
+            for (int slot = 0; slot < opened.size(); slot++) {
+                index.add(slot);
+                ids.put(opened.id(slot), slot);
+            }
+            lock.writeLock().lock();
+            try {
+                store = opened;
+                graph = index;
+                slots = ids;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean contains(Long id) {
+            lock.readLock().lock();
+            try {
+                return slots.containsKey(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Set<Long> ids() {
+            lock.readLock().lock();
+            try {
+                return new HashSet<>(slots.keySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        float[] vector(Long id) {
+            lock.readLock().lock();
+            try {
+                Integer slot = slots.get(id);
+                return slot == null ? null : store.vector(slot);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Long id, float[] vector) throws IOException {
+            if (store == null) {
+                return; // Not opened yet; the startup sync picks the entity up
+            }
+            lock.writeLock().lock();
+            try {
+                Integer previous = slots.remove(id);
+                if (previous != null) {
+                    store.remove(previous);
+                }
+                int slot = store.append(id, vector);
+                graph.add(slot);
+                slots.put(id, slot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            compactIfNeeded();
+        }
+
+        void remove(Long id) throws IOException {
+            if (store == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                Integer slot = slots.remove(id);
+                if (slot != null) {
+                    store.remove(slot);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            compactIfNeeded();
+        }
+
+        List<Match> search(float[] query, int limit) {
+            lock.readLock().lock();
+            try {
+                List<Match> matches = new ArrayList<>(limit);
+                for (HnswIndex.Hit hit : graph.search(query, limit, efSearch)) {
+                    matches.add(new Match(store.id(hit.slot()), hit.score()));
+                }
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return slots.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Removed entities stay in the graph as tombstones; past the ratio they're rewritten
+        // out of the file and the graph is rebuilt. Readers keep using the old pair meanwhile.
+        private void compactIfNeeded() throws IOException {
+            if (store.tombstones() < MIN_TOMBSTONES_TO_COMPACT || store.tombstones() < compactRatio * store.size()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            MappedVectorStore previous = store;
+            open();
+            previous.close();
+            logger.info("Compacted {} vectors to {} in {} ms", name, store.size(), System.currentTimeMillis() - start);
+        }
+
+        private MappedVectorStore swapInCompacted(MappedVectorStore current) throws IOException {
+            Path target = path();
+            MappedVectorStore compacted = current.compactTo(Path.of(directory, name + ".vec.tmp"));
+            compacted.replace(target);
+            current.close();
+            return compacted;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        writer.execute(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                freelancers.open();
+                jobs.open();
+                int embedded = syncFreelancers() + syncJobs();
+                ready = true;
+                logger.info("Semantic index ready with {} freelancers and {} jobs ({} embedded, provider {}) in {} ms",
+                        freelancers.size(), jobs.size(), embedded, embeddingProvider.id(), System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                logger.error("Could not load the semantic index from {}: {}", directory, e.getMessage(), e);
+            }
+        });
+    }
+
+    // Called after a user's profile, skills or active flag changed
+    public void freelancerChanged(Long userId) {
+        submit(() -> {
+            UserCard card = userRepository.findActiveFreelancerCard(userId).orElse(null);
+            if (card == null) {
+                freelancers.remove(userId);
+            } else {
+                freelancers.put(userId, embeddingProvider.embed(freelancerText(card)));
+            }
+        });
+    }
+
+    public void freelancerRemoved(Long userId) {
+        submit(() -> freelancers.remove(userId));
+    }
+
+    // Called after a job was posted, edited or changed status
+    public void jobChanged(Long jobId) {
+        submit(() -> {
+            Job job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || !"PENDING".equals(job.getStatus())) {
+                jobs.remove(jobId);
+            } else {
+                jobs.put(jobId, embeddingProvider.embed(jobText(job)));
+            }
+        });
+    }
+
+    public void jobRemoved(Long jobId) {
+        submit(() -> jobs.remove(jobId));
+    }
+
+    public List<Match> freelancersForJob(Job job, int limit) {
+        if (!ready || limit <= 0) {
+            return List.of();
+        }
+        float[] query = jobs.vector(job.getId());
+        if (query == null) {
+            query = embeddingProvider.embed(jobText(job)); // Jobs that aren't open aren't indexed
+        }
+        return freelancers.search(query, limit);
+    }
+
+    public List<Match> jobsForFreelancer(Long freelancerId, int limit) {
+        if (!ready || limit <= 0) {
+            return List.of();
+        }
+        float[] query = freelancers.vector(freelancerId);
+        return query == null ? List.of() : jobs.search(query, limit);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ready", ready);
+        stats.put("provider", embeddingProvider.id());
+        stats.put("dimension", embeddingProvider.dimension());
+        stats.put("freelancers", freelancers.size());
+        stats.put("jobs", jobs.size());
+        return stats;
+    }
+
+    private int syncFreelancers() throws IOException {
+        Set<Long> stale = freelancers.ids();
+        int embedded = 0;
+        long afterId = 0;
+        List<UserCard> page;
+        do {
+            page = userRepository.findActiveFreelancerCards(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (UserCard card : page) {
+                stale.remove(card.id());
+                if (!freelancers.contains(card.id())) {
+                    freelancers.put(card.id(), embeddingProvider.embed(freelancerText(card)));
+                    embedded++;
+                }
+                afterId = card.id();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        for (Long id : stale) {
+            freelancers.remove(id);
+        }
+        return embedded;
+    }
+
+    private int syncJobs() throws IOException {
+        Set<Long> stale = jobs.ids();
+        int embedded = 0;
+        long beforeId = Long.MAX_VALUE;
+        List<Job> page;
+        do {
+            page = jobRepository.findFeed(beforeId, "PENDING", null, null, null, null, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Job job : page) {
+                stale.remove(job.getId());
+                if (!jobs.contains(job.getId())) {
+                    jobs.put(job.getId(), embeddingProvider.embed(jobText(job)));
+                    embedded++;
+                }
+                beforeId = job.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        for (Long id : stale) {
+            jobs.remove(id);
+        }
+        return embedded;
+    }
+
+    // Skills first, then the head of the resume; the resume body is only read here
+    private String freelancerText(UserCard card) {
+        String resume = userRepository.findResumeTextById(card.id()).orElse("");
+        if (resume.length() > resumeChars) {
+            resume = resume.substring(0, resumeChars);
+        }
+        return (card.skills() == null ? "" : card.skills()) + "\n" + resume;
+    }
+
+    private static String jobText(Job job) {
+        return (job.getTitle() == null ? "" : job.getTitle()) + "\n" + (job.getDescription() == null ? "" : job.getDescription());
+    }
+
+    private interface IndexUpdate {
+        void run() throws Exception;
+    }
+
+    private void submit(IndexUpdate update) {
+        writer.execute(() -> {
+            try {
+                update.run();
+            } catch (Exception e) {
+                logger.warn("Semantic index update failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+        for (Space space : List.of(freelancers, jobs)) {
+            if (space.store != null) {
+                try {
+                    space.store.close();
+                } catch (IOException e) {
+                    logger.warn("Could not close {} vectors: {}", space.name, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.Job;
+import com.freelanceplatform.model.UserCard;
+import com.freelanceplatform.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranks active freelancers against a job by skill overlap. Every distinct skill is
+ * interned to an integer id and each freelancer is stored as a long[] bitset over
+ * those ids, so scoring a freelancer is a handful of AND/popcount operations.
+ * Matches are weighted by skill rarity (IDF) and normalized by the size of the
+ * freelancer's skill set so long keyword lists don't dominate.
+ */
+@Component
+public class SkillMatchingService {
+    private static final Logger logger = LoggerFactory.getLogger(SkillMatchingService.class);
+    private static final int MAX_SKILL_WORDS = 3; // Longest skill phrase looked up in job text
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<String, Integer> skillIds = new HashMap<>();
+    private final List<String> skillNames = new ArrayList<>();
+    private int[] skillFrequency = new int[64]; // Active freelancers having each skill
+    private final Map<Long, long[]> freelancerSkills = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Match(Long freelancerId, double score, List<String> matchedSkills) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            freelancerSkills.clear();
+            Arrays.fill(skillFrequency, 0);
+            long afterId = 0;
+            List<UserCard> page;
+            do {
+                page = userRepository.findActiveFreelancerCards(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (UserCard card : page) {
+                    putFreelancer(card.id(), card.skills());
+                    afterId = card.id();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Skill matcher loaded {} freelancers, {} skills in {} ms",
+                freelancerSkills.size(), skillNames.size(), System.currentTimeMillis() - start);
+    }
+
+    // Re-reads one user's skills; only active freelancers stay in the index
+    public void refresh(Long userId) {
+        Optional<UserCard> card = userRepository.findActiveFreelancerCard(userId);
+        lock.writeLock().lock();
+        try {
+            removeFreelancer(userId);
+            card.ifPresent(c -> putFreelancer(c.id(), c.skills()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long freelancerId) {
+        lock.writeLock().lock();
+        try {
+            removeFreelancer(freelancerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> topFreelancers(Job job, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] jobBits = jobSkillBits(job);
+            if (isEmpty(jobBits) || limit <= 0) {
+                return List.of();
+            }
+            double[] idf = new double[skillNames.size()];
+            int total = Math.max(1, freelancerSkills.size());
+            for (int i = 0; i < idf.length; i++) {
+                idf[i] = Math.log(1 + (double) total / (1 + skillFrequency[i]));
+            }
+
+            PriorityQueue<Match> heap = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.score(), b.score()));
+            for (Map.Entry<Long, long[]> entry : freelancerSkills.entrySet()) {
+                long[] bits = entry.getValue();
+                double score = 0;
+                int size = 0;
+                for (int w = 0; w < bits.length; w++) {
+                    size += Long.bitCount(bits[w]);
+                    if (w < jobBits.length) {
+                        long common = bits[w] & jobBits[w];
+                        while (common != 0) {
+                            score += idf[w * 64 + Long.numberOfTrailingZeros(common)];
+                            common &= common - 1;
+                        }
+                    }
+                }
+                if (score == 0) {
+                    continue;
+                }
+                score /= Math.sqrt(size);
+                if (heap.size() < limit || score > heap.peek().score()) {
+                    heap.offer(new Match(entry.getKey(), score, null));
+                    if (heap.size() > limit) {
+                        heap.poll();
+                    }
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(heap.size());
+            for (Match match : heap) {
+                matches.add(new Match(match.freelancerId(), match.score(),
+                        skillNames(and(freelancerSkills.get(match.freelancerId()), jobBits))));
+            }
+            matches.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return freelancerSkills.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Job skills are the known skill phrases (up to three words) that occur in its title or description
+    private long[] jobSkillBits(Job job) {
+        List<String> words = TextNormalizer.words(job.getTitle() + " " + job.getDescription());
+        long[] bits = new long[(skillNames.size() + 63) / 64];
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            phrase.setLength(0);
+            for (int n = 0; n < MAX_SKILL_WORDS && i + n < words.size(); n++) {
+                if (n > 0) {
+                    phrase.append(' ');
+                }
+                phrase.append(words.get(i + n));
+                Integer id = skillIds.get(phrase.toString());
+                if (id != null) {
+                    bits[id >>> 6] |= 1L << id;
+                }
+            }
+        }
+        return bits;
+    }
+
+    private void putFreelancer(Long freelancerId, String skills) {
+        List<String> normalized = TextNormalizer.skills(skills);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        long[] bits = new long[0];
+        for (String skill : normalized) {
+            int id = intern(skill);
+            if ((id >>> 6) >= bits.length) {
+                bits = Arrays.copyOf(bits, (id >>> 6) + 1);
+            }
+            if ((bits[id >>> 6] & (1L << id)) == 0) {
+                bits[id >>> 6] |= 1L << id;
+                skillFrequency[id]++;
+            }
+        }
+        freelancerSkills.put(freelancerId, bits);
+    }
+
+    private void removeFreelancer(Long freelancerId) {
+        long[] bits = freelancerSkills.remove(freelancerId);
+        if (bits == null) {
+            return;
+        }
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                skillFrequency[w * 64 + Long.numberOfTrailingZeros(word)]--;
+                word &= word - 1;
+            }
+        }
+    }
+
+    private int intern(String skill) {
+        Integer id = skillIds.get(skill);
+        if (id == null) {
+            id = skillNames.size();
+            skillIds.put(skill, id);
+            skillNames.add(skill);
+            if (id >= skillFrequency.length) {
+                skillFrequency = Arrays.copyOf(skillFrequency, skillFrequency.length * 2);
+            }
+        }
+        return id;
+    }
+
+    private List<String> skillNames(long[] bits) {
+        List<String> names = new ArrayList<>();
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                names.add(skillNames.get(w * 64 + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+        return names;
+    }
+
+    private static long[] and(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        for (int w = 0; w < result.length; w++) {
+            result[w] = a[w] & b[w];
+        }
+        return result;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
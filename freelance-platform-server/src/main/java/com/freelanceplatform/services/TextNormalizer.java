@@ -0,0 +1,72 @@
+package com.freelanceplatform.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Lower-cases and splits free text into index terms. Characters that carry meaning
+ * in technology names ('+', '#', '.') are kept inside a word so "C++", "C#" and
+ * "Node.js" survive as single terms.
+ */
+public final class TextNormalizer {
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with", "we", "you", "our", "your", "will", "need");
+    private static final Pattern SKILL_SEPARATORS = Pattern.compile("[,;|/\\n\\r\\t]+");
+
+    private TextNormalizer() {}
+
+    public static List<String> words(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#' || (c == '.' && current.length() > 0)) {
+                current.append(c);
+            } else {
+                addTerm(terms, current);
+            }
+        }
+        addTerm(terms, current);
+        return terms;
+    }
+
+    /**
+     * Splits a free-form skills string ("Java, Spring Boot; React") into distinct
+     * normalized skills: each is its words joined by single spaces ("spring boot").
+     */
+    public static List<String> skills(String skills) {
+        Set<String> result = new LinkedHashSet<>();
+        if (skills == null || skills.isBlank()) {
+            return new ArrayList<>(result);
+        }
+        for (String part : SKILL_SEPARATORS.split(skills)) {
+            List<String> words = words(part);
+            if (!words.isEmpty()) {
+                result.add(String.join(" ", words));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder current) {
+        // A trailing '.' is sentence punctuation, not part of the term
+        while (current.length() > 0 && current.charAt(current.length() - 1) == '.') {
+            current.setLength(current.length() - 1);
+        }
+        if (current.length() > 0) {
+            String term = current.toString().toLowerCase(Locale.ROOT);
+            if (!STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+            current.setLength(0);
+        }
+    }
+}
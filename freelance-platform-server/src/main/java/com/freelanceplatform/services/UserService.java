@@ -2,20 +2,22 @@ package com.freelanceplatform.services;
 
 import com.freelanceplatform.ai.GeminiService;
 
+import com.freelanceplatform.model.CursorPage;
 import com.freelanceplatform.model.User;
+import com.freelanceplatform.model.UserCard;
+import com.freelanceplatform.model.UserCredentials;
+import com.freelanceplatform.model.UserSummary;
 import com.freelanceplatform.repository.UserRepository;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -27,8 +29,28 @@ public class UserService {
     @Autowired
     private GeminiService geminiService;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private SkillMatchingService skillMatchingService;
+
+    @Autowired
+    private SemanticMatchingService semanticMatchingService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MetricsRollupStore metricsRollupStore;
+
     public User registerFreelancer(MultipartFile file) {
-        // Existing logic unchanged
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("PDF file cannot be null or empty");
         }
@@ -40,25 +62,8 @@ public class UserService {
                 throw new IllegalStateException("No text could be extracted from the PDF");
             }
 
-            String parsedData = geminiService.parseResume(resumeText);
-            if (parsedData.contains("Error")) {
-                throw new IllegalStateException("Failed to parse resume data: " + parsedData);
-            }
-
-            User user = new User();
-            user.setName(extractField(parsedData, "name"));
-            user.setEmail(extractField(parsedData, "email"));
-            user.setPhone(extractField(parsedData, "phone"));
-            user.setSkills(extractField(parsedData, "skills"));
-            user.setResumeText(resumeText);
-            user.setRole("FREELANCER");
-            user.setActive(false);
-
-            if (user.getName() == null || user.getEmail() == null) {
-                throw new IllegalStateException("Name and email are required fields");
-            }
-
-            return userRepository.save(user);
+            String parsedData = parseResume(resumeText);
+            return createFreelancer(resumeText, parsedData);
         } catch (IOException e) {
             logger.error("Error processing PDF file: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process PDF file: " + e.getMessage(), e);
@@ -68,6 +73,48 @@ public class UserService {
         }
     }
 
+    // Registration stages, also driven one at a time by OnboardingService
+
+    public String parseResume(String resumeText) {
+        String parsedData = geminiService.parseResume(resumeText);
+        if (parsedData.contains("Error")) {
+            throw new IllegalStateException("Failed to parse resume data: " + parsedData);
+        }
+        return parsedData;
+    }
+
+    public User createFreelancer(String resumeText, String parsedData) {
+        User saved = userRepository.save(newFreelancer(resumeText, parsedData));
+        freelancerAdded(saved);
+        return saved;
+    }
+
+    // Unsaved, validated freelancer; OnboardingService saves it in the same transaction as its ticket
+    public User newFreelancer(String resumeText, String parsedData) {
+        User user = new User();
+        user.setName(extractField(parsedData, "name"));
+        user.setEmail(extractField(parsedData, "email"));
+        user.setPhone(extractField(parsedData, "phone"));
+        user.setSkills(extractField(parsedData, "skills"));
+        user.setResumeText(resumeText);
+        user.setRole("FREELANCER");
+        user.setActive(false);
+
+        if (user.getName() == null || user.getEmail() == null) {
+            throw new IllegalStateException("Name and email are required fields");
+        }
+
+        return user;
+    }
+
+    // In-memory indexes and counters; called once the user row is committed
+    public void freelancerAdded(User saved) {
+        skillMatchingService.refresh(saved.getId());
+        semanticMatchingService.freelancerChanged(saved.getId());
+        analyticsService.userAdded(saved.getRole(), saved.getSkills());
+        metricsRollupStore.record(MetricsRollupStore.Metric.REGISTRATIONS);
+    }
+
     public User registerClient(User user) {
         // Existing logic unchanged
         if (user == null || user.getName() == null || user.getEmail() == null || user.getPassword() == null) {
@@ -75,42 +122,26 @@ public class UserService {
         }
         user.setRole("CLIENT");
         user.setActive(true);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        analyticsService.userAdded(saved.getRole(), null);
+        metricsRollupStore.record(MetricsRollupStore.Metric.REGISTRATIONS);
+        return saved;
     }
 
     public String generateQuiz(Long userId) {
-        // Existing logic unchanged
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
-        return geminiService.generateQuiz(user.getSkills());
+        // Card projection: reads the skills column without loading the entity
+        String generated = geminiService.generateQuiz(getUserCard(userId).skills());
+        return quizService.issueQuiz(userId, generated);
     }
 
-    public boolean evaluateQuiz(Long userId, String quiz, String answers) {
-        // Existing logic unchanged
+    // Graded locally against the stored answer key; quizId may also be read from the quiz JSON
+    public boolean evaluateQuiz(Long userId, Long quizId, String answers) {
         logger.info("Evaluating quiz for userId: {}", userId);
-        logger.debug("Quiz: {}", quiz);
         logger.debug("Answers: {}", answers);
-
-        String resultJson = geminiService.evaluateQuiz(quiz, answers);
-        logger.debug("Gemini response: {}", resultJson);
-
-        try {
-            JSONObject resultObj = new JSONObject(resultJson);
-            String result = resultObj.optString("result", "Fail");
-            logger.info("Parsed result: {}", result);
-
-            if ("Pass".equalsIgnoreCase(result)) {
-                User user = userRepository.findById(userId)
-                        .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
-                user.setActive(true);
-                userRepository.save(user);
-                return true;
-            }
-            return false;
-        } catch (Exception e) {
-            logger.error("Error parsing quiz evaluation result: {}", resultJson, e);
-            return false;
+        if (quizId == null) {
+            throw new IllegalArgumentException("quizId is required");
         }
+        return quizService.grade(quizId, userId, answers).passed();
     }
 
     public User updateFreelancerDetails(Long userId, String name, String email, String password) {
@@ -132,7 +163,10 @@ public class UserService {
                 throw new IllegalStateException("Name, email, and password are required fields");
             }
 
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            skillMatchingService.refresh(saved.getId());
+            semanticMatchingService.freelancerChanged(saved.getId());
+            return saved;
         } catch (Exception e) {
             logger.error("Error updating freelancer details for userId {}: {}", userId, e.getMessage(), e);
             throw new RuntimeException("Failed to update freelancer details: " + e.getMessage(), e);
@@ -141,10 +175,14 @@ public class UserService {
 
     public void deleteUser(Long userId) {
         // Existing logic unchanged
-        if (!userRepository.existsById(userId)) {
-            throw new IllegalArgumentException("User not found with ID: " + userId);
-        }
+        UserSummary summary = userRepository.findSummaryById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
+        String skills = "FREELANCER".equals(summary.role()) ? getUserCard(userId).skills() : null;
         userRepository.deleteById(userId);
+        authTokenService.invalidateUser(userId);
+        skillMatchingService.remove(userId);
+        semanticMatchingService.freelancerRemoved(userId);
+        analyticsService.userRemoved(summary.role(), skills);
         logger.info("User with ID {} deleted successfully", userId);
     }
 
@@ -157,31 +195,53 @@ public class UserService {
             throw new IllegalStateException("User is not a freelancer");
         }
 
+        String skills = getUserCard(freelancerId).skills();
         userRepository.deleteById(freelancerId);
+        authTokenService.invalidateUser(freelancerId);
+        skillMatchingService.remove(freelancerId);
+        semanticMatchingService.freelancerRemoved(freelancerId);
+        analyticsService.userRemoved(freelancer.getRole(), skills);
         logger.info("Freelancer with ID {} deleted successfully", freelancerId);
     }
 
-    public List<User> getFreelancers() {
-        // Existing logic unchanged
-        return userRepository.findAll().stream()
-                .filter(user -> "FREELANCER".equals(user.getRole()))
-                .collect(Collectors.toList());
+    public CursorPage<UserSummary> getFreelancers(String query, Long afterId, Integer limit) {
+        return getUsersByRole("FREELANCER", query, afterId, limit);
     }
 
-    public List<User> getClients() {
-        // Existing logic unchanged
-        return userRepository.findAll().stream()
-                .filter(user -> "CLIENT".equals(user.getRole()))
-                .collect(Collectors.toList());
+    public CursorPage<UserSummary> getClients(String query, Long afterId, Integer limit) {
+        return getUsersByRole("CLIENT", query, afterId, limit);
     }
 
-    public User authenticate(String email, String password) {
-        // Existing logic unchanged
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null && password.equals(user.getPassword())) {
-            return user;
+    // Served from the analytics counters, so dashboards never count rows
+    public long countFreelancers() {
+        return analyticsService.getUserCount("FREELANCER");
+    }
+
+    // Name cards for the given ids, e.g. the freelancers on one client's jobs
+    public List<UserCard> getUserCards(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
         }
-        return null;
+        return userRepository.findCardsByIdIn(ids.stream().distinct().limit(CursorPage.MAX_LIMIT).toList());
+    }
+
+    // An optional query matches the start of the name or email; LIKE wildcards in it are dropped
+    private CursorPage<UserSummary> getUsersByRole(String role, String query, Long afterId, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long after = afterId == null ? 0L : afterId;
+        String prefix = query == null ? "" : query.replace("%", "").replace("_", "").trim().toLowerCase();
+        List<UserSummary> rows = prefix.isEmpty()
+                ? userRepository.findSummariesByRole(role, after, PageRequest.of(0, pageSize + 1))
+                : userRepository.searchSummariesByRole(role, prefix + "%", after, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, UserSummary::id);
+    }
+
+    public UserSummary authenticate(String email, String password) {
+        // Reads only the credential columns, never the resume body
+        return userRepository.findCredentialsByEmail(email)
+                .filter(credentials -> password.equals(credentials.password()))
+                .map(UserCredentials::toSummary)
+                .orElse(null);
     }
 
     // New method to fetch user by ID (if needed)
@@ -190,6 +250,12 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
     }
 
+    public UserCard getUserCard(Long userId) {
+        return userRepository.findCardsByIdIn(List.of(userId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
+    }
+
     private String extractField(String data, String field) {
         // Existing logic unchanged
         try {
@@ -202,10 +268,6 @@ public class UserService {
     }
 
     private String extractTextFromPdf(MultipartFile file) throws IOException {
-        // Existing logic unchanged
-        try (PDDocument document = PDDocument.load(file.getInputStream())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
+        return pdfTextExtractor.extract(file);
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.freelanceplatform.ai.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Expected values are what app.py produces with the same model: vectorizer.transform on the
+// raw text for the ML score, preprocess_text for the suggestions
+class ResumeScoringEngineTest {
+	private static final String RESUME = "UI/UX designer, Go & Java since 2024; node.js and c++/java";
+
+	private ResumeScoringEngine engine;
+
+	@BeforeEach
+	void loadModel() {
+		engine = new ResumeScoringEngine();
+		ReflectionTestUtils.setField(engine, "modelPath", "classpath:scoring/test_scoring_model.json");
+		ReflectionTestUtils.setField(engine, "resourceLoader", new DefaultResourceLoader());
+		engine.load();
+		assertTrue(engine.isAvailable());
+	}
+
+	@Test
+	void mlScoreUsesTheVectorizerAnalyzerOnRawText() {
+		// Tokens ui, go, java x2, 2024, node, js: two-letter terms and digits count,
+		// and punctuation splits node.js and c++/java instead of joining them
+		Map<String, Object> result = engine.score(RESUME, "Designer", null);
+
+		assertEquals(69.47, (Double) result.get("ml_score"), 0.011);
+		assertEquals(69, result.get("resume_score"));
+	}
+
+	@Test
+	void mlScoreIgnoresCaseAndUnknownTerms() {
+		Map<String, Object> lower = engine.score("java", null, null);
+		Map<String, Object> mixed = engine.score("JAVA, Kotlin and Scala", null, null);
+
+		assertEquals(lower.get("ml_score"), mixed.get("ml_score"));
+	}
+
+	@Test
+	void suggestionsUsePreprocessedTokens() {
+		Map<String, Object> result = engine.score(RESUME, "Designer", "Python and Kubernetes experience required");
+
+		assertEquals(List.of("python", "kubernetes", "experience", "required"), result.get("skill_suggestions"));
+		assertEquals(60.0, (Double) result.get("skill_score"), 0.001);
+	}
+}
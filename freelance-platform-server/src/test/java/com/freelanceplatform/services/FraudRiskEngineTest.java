@@ -0,0 +1,161 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.CursorPage;
+import com.freelanceplatform.model.FraudReport;
+import com.freelanceplatform.model.FraudRiskEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FraudRiskEngineTest {
+	private static final long DAY_MS = 24L * 60 * 60 * 1000;
+	private static final int WINDOW_DAYS = 3;
+	private static final int OPEN_REPORT_WEIGHT = 5;
+
+	private final FraudRiskEngine engine = new FraudRiskEngine();
+	private long now = 20_000 * DAY_MS + 12 * 60 * 60 * 1000L;
+	private long nextReportId = 1;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(engine, "windowDays", WINDOW_DAYS);
+		engine.clock = () -> now;
+		engine.reset();
+	}
+
+	private void advanceDays(int days) {
+		now += days * DAY_MS;
+	}
+
+	private void fileReport(long userId) {
+		FraudReport report = new FraudReport();
+		report.setId(nextReportId++);
+		report.setReportedUserId(userId);
+		report.setStatus("PENDING");
+		report.setCreatedAt(now);
+		engine.reportFiled(report);
+	}
+
+	private FraudRiskEntry entry(long userId) {
+		return engine.page(null, 100).items().stream()
+				.filter(entry -> entry.userId() == userId)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private List<Long> queueOrder() {
+		return engine.page(null, 100).items().stream().map(FraudRiskEntry::userId).toList();
+	}
+
+	@Test
+	void signalsExpireAsTheWindowAdvancesOverSeveralDays() {
+		fileReport(1);
+		assertEquals(OPEN_REPORT_WEIGHT + FraudRiskEngine.Signal.REPORT.weight, entry(1).riskScore());
+
+		advanceDays(1);
+		engine.record(1L, FraudRiskEngine.Signal.UNPAID);
+		assertEquals(OPEN_REPORT_WEIGHT + FraudRiskEngine.Signal.REPORT.weight + FraudRiskEngine.Signal.UNPAID.weight,
+				entry(1).riskScore());
+
+		// Day 3: the report's day has left the three-day window, the payment's has not
+		advanceDays(2);
+		engine.sweep();
+		assertEquals(OPEN_REPORT_WEIGHT + FraudRiskEngine.Signal.UNPAID.weight, entry(1).riskScore());
+		assertEquals(Map.of("UNPAID", 1), entry(1).signals());
+
+		advanceDays(1);
+		engine.sweep();
+		assertEquals(OPEN_REPORT_WEIGHT, entry(1).riskScore());
+		assertEquals(Map.of(), entry(1).signals());
+
+		// A jump past the whole window leaves only the open report
+		advanceDays(10);
+		engine.record(1L, FraudRiskEngine.Signal.JOB_IGNORED);
+		assertEquals(OPEN_REPORT_WEIGHT + FraudRiskEngine.Signal.JOB_IGNORED.weight, entry(1).riskScore());
+		assertEquals(Map.of("JOB_IGNORED", 1), entry(1).signals());
+	}
+
+	@Test
+	void eventsOnDaysLeftUntouchedAreCountedOnce() {
+		fileReport(1);
+		advanceDays(1);
+		fileReport(1);
+		advanceDays(1);
+		fileReport(1);
+
+		FraudRiskEntry entry = entry(1);
+		assertEquals(3, entry.openReports());
+		assertEquals(Map.of("REPORT", 3), entry.signals());
+
+		advanceDays(1);
+		engine.sweep();
+		assertEquals(Map.of("REPORT", 2), entry(1).signals());
+	}
+
+	@Test
+	void releasedRowIsReusedWithCleanCounters() {
+		engine.record(1L, FraudRiskEngine.Signal.UNPAID);
+		assertEquals(1, engine.getStats().get("trackedUsers"));
+
+		advanceDays(WINDOW_DAYS);
+		engine.sweep();
+		assertEquals(0, engine.getStats().get("trackedUsers"));
+
+		fileReport(2);
+		FraudRiskEntry entry = entry(2);
+		assertEquals(OPEN_REPORT_WEIGHT + FraudRiskEngine.Signal.REPORT.weight, entry.riskScore());
+		assertEquals(Map.of("REPORT", 1), entry.signals());
+	}
+
+	@Test
+	void queueReordersAfterEachRescore() {
+		fileReport(1);
+		fileReport(2);
+		fileReport(3);
+		// Equal scores fall back to user id order
+		assertEquals(List.of(1L, 2L, 3L), queueOrder());
+
+		engine.record(3L, FraudRiskEngine.Signal.UNPAID);
+		assertEquals(List.of(3L, 1L, 2L), queueOrder());
+
+		engine.record(2L, FraudRiskEngine.Signal.UNPAID);
+		engine.record(2L, FraudRiskEngine.Signal.JOB_RELEASED);
+		assertEquals(List.of(2L, 3L, 1L), queueOrder());
+
+		engine.reportsClosed(2L, 1);
+		assertEquals(List.of(3L, 1L), queueOrder());
+
+		// Scores drop as the window moves; ties are ordered by user id again
+		advanceDays(WINDOW_DAYS);
+		engine.sweep();
+		assertEquals(List.of(1L, 3L), queueOrder());
+	}
+
+	@Test
+	void pagesFollowTheQueueAfterARescore() {
+		fileReport(1);
+		fileReport(2);
+		fileReport(3);
+
+		CursorPage<FraudRiskEntry> first = engine.page(null, 2);
+		assertEquals(List.of(1L, 2L), first.items().stream().map(FraudRiskEntry::userId).toList());
+		assertEquals(2L, first.nextCursor());
+
+		// User 3 moves ahead of the cursor, so the next page starts after user 2 and is empty
+		engine.record(3L, FraudRiskEngine.Signal.UNPAID);
+		CursorPage<FraudRiskEntry> second = engine.page(first.nextCursor(), 2);
+		assertEquals(List.of(), second.items());
+		assertNull(second.nextCursor());
+
+		// A cursor user who left the queue restarts from the top
+		engine.reportsClosed(2L, 1);
+		CursorPage<FraudRiskEntry> restarted = engine.page(2L, 2);
+		assertEquals(List.of(3L, 1L), restarted.items().stream().map(FraudRiskEntry::userId).toList());
+	}
+}
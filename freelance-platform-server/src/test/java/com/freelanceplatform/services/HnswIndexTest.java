@@ -0,0 +1,120 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.ai.HashingEmbeddingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswIndexTest {
+	private static final int DIMENSION = 64;
+	private static final int DOCUMENTS = 2000;
+	private static final int QUERIES = 50;
+	private static final int K = 10;
+	private static final int EF_SEARCH = 64;
+
+	@TempDir
+	Path directory;
+
+	private final HashingEmbeddingProvider embeddings = new HashingEmbeddingProvider();
+	private final Random random = new Random(7);
+	private final List<String> vocabulary = new ArrayList<>();
+	private MappedVectorStore store;
+	private HnswIndex index;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		ReflectionTestUtils.setField(embeddings, "dimension", DIMENSION);
+		for (int i = 0; i < 300; i++) {
+			vocabulary.add("term" + i);
+		}
+		store = MappedVectorStore.open(directory.resolve("test.vec"), embeddings.id(), DIMENSION);
+		index = new HnswIndex(store, 16, 100);
+		for (int i = 0; i < DOCUMENTS; i++) {
+			index.add(store.append(i + 1, embeddings.embed(randomText())));
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		store.close();
+	}
+
+	@Test
+	void recallMatchesBruteForce() {
+		assertEquals(DOCUMENTS, index.size());
+		assertTrue(recall() >= 0.9, "recall@" + K + " below 0.9");
+	}
+
+	@Test
+	void removedSlotsAreSkippedWithoutLosingRecall() {
+		for (int slot = 0; slot < DOCUMENTS; slot += 3) {
+			store.remove(slot);
+		}
+		for (int q = 0; q < QUERIES; q++) {
+			for (HnswIndex.Hit hit : index.search(embeddings.embed(randomText()), K, EF_SEARCH)) {
+				assertTrue(store.isLive(hit.slot()), "removed slot " + hit.slot() + " returned");
+			}
+		}
+		assertTrue(recall() >= 0.9, "recall@" + K + " below 0.9 after removals");
+	}
+
+	@Test
+	void emptyIndexFindsNothing() throws IOException {
+		try (MappedVectorStore empty = MappedVectorStore.open(directory.resolve("empty.vec"), embeddings.id(), DIMENSION)) {
+			assertTrue(new HnswIndex(empty, 16, 100).search(embeddings.embed("term1 term2"), K, EF_SEARCH).isEmpty());
+		}
+		assertFalse(index.search(embeddings.embed("term1 term2"), K, EF_SEARCH).isEmpty());
+	}
+
+	// Average share of the exact top K (over live slots) that the graph search also returns
+	private double recall() {
+		int found = 0;
+		for (int q = 0; q < QUERIES; q++) {
+			float[] query = embeddings.embed(randomText());
+			Set<Integer> returned = new HashSet<>();
+			for (HnswIndex.Hit hit : index.search(query, K, EF_SEARCH)) {
+				returned.add(hit.slot());
+			}
+			for (int slot : bruteForce(query)) {
+				if (returned.contains(slot)) {
+					found++;
+				}
+			}
+		}
+		return found / (double) (QUERIES * K);
+	}
+
+	private List<Integer> bruteForce(float[] query) {
+		List<Integer> live = new ArrayList<>();
+		for (int slot = 0; slot < store.size(); slot++) {
+			if (store.isLive(slot)) {
+				live.add(slot);
+			}
+		}
+		live.sort((a, b) -> Float.compare(store.dot(query, b), store.dot(query, a)));
+		return live.subList(0, Math.min(K, live.size()));
+	}
+
+	private String randomText() {
+		StringBuilder text = new StringBuilder();
+		int words = 8 + random.nextInt(8);
+		for (int i = 0; i < words; i++) {
+			text.append(vocabulary.get(random.nextInt(vocabulary.size()))).append(' ');
+		}
+		return text.toString();
+	}
+}
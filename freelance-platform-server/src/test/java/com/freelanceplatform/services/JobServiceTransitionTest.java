@@ -0,0 +1,213 @@
+package com.freelanceplatform.services;
+
+import com.freelanceplatform.model.Job;
+import com.freelanceplatform.model.JobEvent;
+import com.freelanceplatform.model.JobTransition;
+import com.freelanceplatform.repository.JobRepository;
+import com.freelanceplatform.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobServiceTransitionTest {
+	private static final Long JOB_ID = 7L;
+	private static final Long CLIENT_ID = 10L;
+	private static final Long FREELANCER_ID = 20L;
+
+	@Mock
+	private JobRepository jobRepository;
+	@Mock
+	private JobSearchIndex jobSearchIndex;
+	@Mock
+	private SkillMatchingService skillMatchingService;
+	@Mock
+	private SemanticMatchingService semanticMatchingService;
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private AnalyticsService analyticsService;
+	@Mock
+	private MetricsRollupStore metricsRollupStore;
+	@Mock
+	private JobEventHub jobEventHub;
+	@Mock
+	private FraudRiskEngine fraudRiskEngine;
+
+	@InjectMocks
+	private JobService jobService;
+
+	private final AuthPrincipal client = new AuthPrincipal(CLIENT_ID, "CLIENT", false);
+	private final AuthPrincipal freelancer = new AuthPrincipal(FREELANCER_ID, "FREELANCER", false);
+
+	private static Job job(String status, String previousStatus, boolean paid) {
+		Job job = new Job();
+		job.setId(JOB_ID);
+		job.setClientId(CLIENT_ID);
+		job.setFreelancerId(FREELANCER_ID);
+		job.setStatus(status);
+		job.setPreviousStatus(previousStatus);
+		job.setPaid(paid);
+		return job;
+	}
+
+	@Test
+	void acceptIsOneConditionalUpdateFromEverySourceState() {
+		when(jobRepository.advance(JOB_ID, FREELANCER_ID, JobTransition.ACCEPT.from(), "ACCEPTED")).thenReturn(1);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("ACCEPTED", "PENDING", false)));
+
+		Job accepted = jobService.acceptJob(JOB_ID, freelancer);
+
+		assertEquals("ACCEPTED", accepted.getStatus());
+		verify(jobRepository, times(1)).advance(anyLong(), anyLong(), anyCollection(), anyString());
+		verify(jobRepository, times(1)).findById(JOB_ID);
+		verify(analyticsService).jobStatusChanged("PENDING", "ACCEPTED");
+		verify(jobEventHub).publish(any(JobEvent.class), any(Long[].class));
+	}
+
+	@Test
+	void payMovesPendingOrAcceptedJobsToActive() {
+		assertEquals(List.of("PENDING", "ACCEPTED", "ACTIVE"), JobTransition.PAY.from());
+		when(jobRepository.markPaid(JOB_ID, CLIENT_ID, JobTransition.PAY.from(), "ACTIVE")).thenReturn(1);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("ACTIVE", "ACCEPTED", true)));
+
+		Job paid = jobService.updatePaymentStatus(JOB_ID, true, client);
+
+		assertEquals("ACTIVE", paid.getStatus());
+		verify(analyticsService).jobStatusChanged("ACCEPTED", "ACTIVE");
+		verify(metricsRollupStore).record(MetricsRollupStore.Metric.PAYMENTS);
+	}
+
+	@Test
+	void repeatedTransitionToTheSameStateIsIdempotent() {
+		Job completed = job("COMPLETED", "ACTIVE", true);
+		when(jobRepository.advance(JOB_ID, FREELANCER_ID, JobTransition.COMPLETE.from(), "COMPLETED")).thenReturn(0);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(completed));
+
+		assertSame(completed, jobService.completeJob(JOB_ID, freelancer));
+		verify(analyticsService, never()).jobStatusChanged(anyString(), anyString());
+		verify(jobEventHub, never()).publish(any(JobEvent.class), any(Long[].class));
+	}
+
+	@Test
+	void invalidTransitionIsRejected() {
+		when(jobRepository.advance(JOB_ID, FREELANCER_ID, JobTransition.ACCEPT.from(), "ACCEPTED")).thenReturn(0);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("COMPLETED", "ACTIVE", true)));
+
+		assertThrows(IllegalStateException.class, () -> jobService.acceptJob(JOB_ID, freelancer));
+	}
+
+	@Test
+	void nonParticipantIsUnauthorized() {
+		AuthPrincipal stranger = new AuthPrincipal(99L, "FREELANCER", false);
+		when(jobRepository.advance(JOB_ID, 99L, JobTransition.ACCEPT.from(), "ACCEPTED")).thenReturn(0);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("PENDING", null, false)));
+
+		assertThrows(SecurityException.class, () -> jobService.acceptJob(JOB_ID, stranger));
+	}
+
+	@Test
+	void freelancerIgnoreOnlyTriesRelease() {
+		Job released = job("PENDING", "ACCEPTED", false);
+		released.setFreelancerId(null);
+		when(jobRepository.release(JOB_ID, FREELANCER_ID, JobTransition.RELEASE.from(), "PENDING")).thenReturn(1);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(released));
+
+		assertEquals("PENDING", jobService.ignoreJob(JOB_ID, freelancer).getStatus());
+		verify(jobRepository, never()).ignore(anyLong(), anyLong(), anyCollection(), anyString());
+		verify(fraudRiskEngine).record(FREELANCER_ID, FraudRiskEngine.Signal.JOB_RELEASED);
+	}
+
+	@Test
+	void decliningANewRequestIsNotARiskSignal() {
+		Job declined = job("PENDING", "PENDING", false);
+		declined.setFreelancerId(null);
+		when(jobRepository.release(JOB_ID, FREELANCER_ID, JobTransition.RELEASE.from(), "PENDING")).thenReturn(1);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(declined));
+
+		jobService.ignoreJob(JOB_ID, freelancer);
+		verify(fraudRiskEngine, never()).record(any(), any());
+	}
+
+	@Test
+	void onlyAPaidToUnpaidChangeIsARiskSignal() {
+		when(jobRepository.markUnpaid(JOB_ID, CLIENT_ID)).thenReturn(1, 0);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("ACTIVE", "ACCEPTED", false)));
+
+		jobService.updatePaymentStatus(JOB_ID, false, client);
+		jobService.updatePaymentStatus(JOB_ID, false, client);
+		verify(fraudRiskEngine, times(1)).record(CLIENT_ID, FraudRiskEngine.Signal.UNPAID);
+	}
+
+	@Test
+	void paidThenUnpaidJobCanBePaidAgain() {
+		when(jobRepository.markUnpaid(JOB_ID, CLIENT_ID)).thenReturn(1);
+		when(jobRepository.markPaid(JOB_ID, CLIENT_ID, JobTransition.PAY.from(), "ACTIVE")).thenReturn(1);
+		when(jobRepository.findById(JOB_ID)).thenReturn(
+				Optional.of(job("ACTIVE", "ACCEPTED", false)),
+				Optional.of(job("ACTIVE", "ACTIVE", true)));
+
+		assertFalse(jobService.updatePaymentStatus(JOB_ID, false, client).isPaid());
+		Job repaid = jobService.updatePaymentStatus(JOB_ID, true, client);
+
+		assertTrue(repaid.isPaid());
+		assertEquals("ACTIVE", repaid.getStatus());
+		verify(metricsRollupStore).record(MetricsRollupStore.Metric.PAYMENTS);
+		verify(jobEventHub, times(2)).publish(any(JobEvent.class), any(Long[].class));
+	}
+
+	@Test
+	void payingAPaidJobAgainChangesNothing() {
+		Job paid = job("COMPLETED", "ACTIVE", true);
+		when(jobRepository.markPaid(JOB_ID, CLIENT_ID, JobTransition.PAY.from(), "ACTIVE")).thenReturn(0);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(paid));
+
+		assertSame(paid, jobService.updatePaymentStatus(JOB_ID, true, client));
+		verify(metricsRollupStore, never()).record(any());
+	}
+
+	@Test
+	void unpaidActiveJobCannotBeCompleted() {
+		when(jobRepository.advance(JOB_ID, FREELANCER_ID, JobTransition.COMPLETE.from(), "COMPLETED")).thenReturn(0);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("ACTIVE", "ACCEPTED", false)));
+
+		assertThrows(IllegalStateException.class, () -> jobService.completeJob(JOB_ID, freelancer));
+	}
+
+	@Test
+	void clientIgnoreOnlyTriesIgnore() {
+		when(jobRepository.ignore(JOB_ID, CLIENT_ID, JobTransition.IGNORE.from(), "IGNORED")).thenReturn(1);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("IGNORED", "PENDING", false)));
+
+		assertEquals("IGNORED", jobService.ignoreJob(JOB_ID, client).getStatus());
+		verify(jobRepository, never()).release(anyLong(), anyLong(), anyCollection(), anyString());
+		verify(analyticsService).jobStatusChanged("PENDING", "IGNORED");
+	}
+
+	@Test
+	void paidJobCannotBeIgnored() {
+		when(jobRepository.ignore(JOB_ID, CLIENT_ID, JobTransition.IGNORE.from(), "IGNORED")).thenReturn(0);
+		when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("ACTIVE", "ACCEPTED", true)));
+
+		assertThrows(IllegalStateException.class, () -> jobService.ignoreJob(JOB_ID, client));
+	}
+}
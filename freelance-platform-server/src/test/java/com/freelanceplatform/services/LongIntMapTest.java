@@ -0,0 +1,146 @@
+package com.freelanceplatform.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongIntMapTest {
+	// new LongIntMap(4) starts with 16 slots and holds 8 keys before it resizes
+	private static final int MASK = 15;
+
+	// The first count keys, counting up from 1, whose home slot in a 16-slot table is home
+	private static List<Long> keysHomedAt(int home, int count) {
+		List<Long> keys = new ArrayList<>();
+		for (long key = 1; keys.size() < count; key++) {
+			if (LongIntMap.slot(key, MASK) == home) {
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+
+	@Test
+	void removeInsideWrappedProbeChainKeepsLaterKeysReachable() {
+		// Three keys homed at the last slot fill 15, 0 and 1; the keys homed at 0 and 1
+		// are pushed on to slots 2 and 3, so the chain wraps past the end of the table
+		List<Long> tail = keysHomedAt(15, 3);
+		long atZero = keysHomedAt(0, 1).get(0);
+		long atOne = keysHomedAt(1, 1).get(0);
+		LongIntMap map = new LongIntMap(4);
+		for (long key : tail) {
+			map.put(key, (int) key);
+		}
+		map.put(atZero, 100);
+		map.put(atOne, 101);
+
+		map.remove(tail.get(0));
+
+		assertEquals(4, map.size());
+		assertEquals(-1, map.get(tail.get(0)));
+		assertEquals((int) (long) tail.get(1), map.get(tail.get(1)));
+		assertEquals((int) (long) tail.get(2), map.get(tail.get(2)));
+		assertEquals(100, map.get(atZero));
+		assertEquals(101, map.get(atOne));
+
+		// Removing from the middle of what is left must not strand the keys after it
+		map.remove(tail.get(2));
+		map.remove(atZero);
+
+		assertEquals(2, map.size());
+		assertEquals((int) (long) tail.get(1), map.get(tail.get(1)));
+		assertEquals(101, map.get(atOne));
+	}
+
+	@Test
+	void removingAnAbsentKeyChangesNothing() {
+		List<Long> chain = keysHomedAt(15, 3);
+		LongIntMap map = new LongIntMap(4);
+		map.put(chain.get(0), 1);
+		map.put(chain.get(1), 2);
+
+		map.remove(chain.get(2));
+
+		assertEquals(2, map.size());
+		assertEquals(1, map.get(chain.get(0)));
+		assertEquals(2, map.get(chain.get(1)));
+	}
+
+	@Test
+	void putOverwritesWithoutGrowingAndRejectsKeyZero() {
+		LongIntMap map = new LongIntMap(4);
+		map.put(42, 1);
+		map.put(42, 2);
+
+		assertEquals(1, map.size());
+		assertEquals(2, map.get(42));
+		assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+	}
+
+	@Test
+	void resizeKeepsEveryEntry() {
+		LongIntMap map = new LongIntMap(4);
+		for (int i = 1; i <= 5000; i++) {
+			map.put(i * 31L, i);
+		}
+
+		assertEquals(5000, map.size());
+		for (int i = 1; i <= 5000; i++) {
+			assertEquals(i, map.get(i * 31L));
+		}
+		assertEquals(-1, map.get(7));
+
+		for (int i = 1; i <= 5000; i += 2) {
+			map.remove(i * 31L);
+		}
+
+		assertEquals(2500, map.size());
+		for (int i = 1; i <= 5000; i++) {
+			assertEquals(i % 2 == 0 ? i : -1, map.get(i * 31L));
+		}
+	}
+
+	@Test
+	void matchesHashMapUnderMixedPutsAndRemoves() {
+		// A small key range keeps the table crowded with long, wrapping probe chains
+		Random random = new Random(11);
+		LongIntMap map = new LongIntMap(4);
+		Map<Long, Integer> expected = new HashMap<>();
+		for (int step = 0; step < 20000; step++) {
+			long key = 1 + random.nextInt(64);
+			if (random.nextInt(3) == 0) {
+				map.remove(key);
+				expected.remove(key);
+			} else {
+				map.put(key, step);
+				expected.put(key, step);
+			}
+			if (step % 100 == 0) {
+				assertEquals(expected.size(), map.size());
+				for (long k = 1; k <= 64; k++) {
+					assertEquals((int) expected.getOrDefault(k, -1), map.get(k));
+				}
+			}
+		}
+	}
+
+	@Test
+	void clearEmptiesTheMap() {
+		LongIntMap map = new LongIntMap(4);
+		map.put(1, 1);
+		map.put(2, 2);
+
+		map.clear();
+
+		assertEquals(0, map.size());
+		assertEquals(-1, map.get(1));
+		map.put(1, 3);
+		assertEquals(3, map.get(1));
+	}
+}
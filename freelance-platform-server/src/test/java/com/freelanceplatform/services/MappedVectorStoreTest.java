@@ -0,0 +1,110 @@
+package com.freelanceplatform.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedVectorStoreTest {
+	private static final String PROVIDER = "test-v1";
+	private static final int DIMENSION = 4;
+
+	@TempDir
+	Path directory;
+
+	private static float[] vector(int seed) {
+		return new float[] {seed, seed + 0.25f, -seed, 1f / (seed + 1)};
+	}
+
+	@Test
+	void reopenKeepsRecordsAndTombstones() throws IOException {
+		Path path = directory.resolve("store.vec");
+		try (MappedVectorStore store = MappedVectorStore.open(path, PROVIDER, DIMENSION)) {
+			for (int i = 0; i < 3; i++) {
+				assertEquals(i, store.append(100 + i, vector(i)));
+			}
+			store.remove(1);
+		}
+
+		try (MappedVectorStore reopened = MappedVectorStore.open(path, PROVIDER, DIMENSION)) {
+			assertEquals(3, reopened.size());
+			assertEquals(1, reopened.tombstones());
+			assertEquals(100, reopened.id(0));
+			assertEquals(-101, reopened.id(1));
+			assertFalse(reopened.isLive(1));
+			assertArrayEquals(vector(2), reopened.vector(2));
+		}
+	}
+
+	@Test
+	void reopenWithAnotherProviderOrDimensionStartsEmpty() throws IOException {
+		Path path = directory.resolve("store.vec");
+		try (MappedVectorStore store = MappedVectorStore.open(path, PROVIDER, DIMENSION)) {
+			store.append(1, vector(1));
+		}
+		try (MappedVectorStore store = MappedVectorStore.open(path, "other-v1", DIMENSION)) {
+			assertEquals(0, store.size());
+			store.append(1, vector(1));
+		}
+		try (MappedVectorStore store = MappedVectorStore.open(path, "other-v1", DIMENSION + 1)) {
+			assertEquals(0, store.size());
+		}
+	}
+
+	@Test
+	void growsPastInitialCapacity() throws IOException {
+		Path path = directory.resolve("store.vec");
+		try (MappedVectorStore store = MappedVectorStore.open(path, PROVIDER, DIMENSION)) {
+			for (int i = 0; i < 3000; i++) {
+				store.append(i + 1, vector(i));
+			}
+		}
+		try (MappedVectorStore reopened = MappedVectorStore.open(path, PROVIDER, DIMENSION)) {
+			assertEquals(3000, reopened.size());
+			assertEquals(3000, reopened.id(2999));
+			assertArrayEquals(vector(2999), reopened.vector(2999));
+		}
+	}
+
+	@Test
+	void compactionKeepsOnlyLiveRecordsInOrder() throws IOException {
+		Path path = directory.resolve("store.vec");
+		Path tmp = directory.resolve("store.vec.tmp");
+		try (MappedVectorStore store = MappedVectorStore.open(path, PROVIDER, DIMENSION)) {
+			for (int i = 0; i < 5; i++) {
+				store.append(10 + i, vector(i));
+			}
+			store.remove(0);
+			store.remove(3);
+			MappedVectorStore compacted = store.compactTo(tmp);
+			compacted.replace(path);
+			compacted.close();
+		}
+		assertFalse(Files.exists(tmp));
+
+		try (MappedVectorStore reopened = MappedVectorStore.open(path, PROVIDER, DIMENSION)) {
+			assertEquals(3, reopened.size());
+			assertEquals(0, reopened.tombstones());
+			assertEquals(11, reopened.id(0));
+			assertEquals(12, reopened.id(1));
+			assertEquals(14, reopened.id(2));
+			assertArrayEquals(vector(4), reopened.vector(2));
+			assertTrue(reopened.isLive(2));
+		}
+	}
+
+	@Test
+	void rejectsVectorsOfTheWrongDimension() throws IOException {
+		try (MappedVectorStore store = MappedVectorStore.open(directory.resolve("store.vec"), PROVIDER, DIMENSION)) {
+			assertThrows(IllegalArgumentException.class, () -> store.append(1, new float[DIMENSION + 1]));
+		}
+	}
+}
@@ -76,7 +76,9 @@ def extract_text_from_pdf(file):
         if not text.strip():
             logger.warning("No text extracted from PDF")
             return "No text found in PDF"
-        return preprocess_text(text)
+        # Raw text: the vectorizer was fit on raw text and applies its own analyzer;
+        # suggest_skills runs preprocess_text itself
+        return text
     except Exception as e:
         logger.error(f"PDF Extraction Error: {str(e)}")
         return "Error extracting text from PDF"
@@ -153,7 +155,7 @@ def process():
             logger.warning("No job description provided")
             return jsonify({"error": "Job description is required"}), 400
 
-        # Extract and preprocess resume text
+        # Extract resume text
         resume_text = extract_text_from_pdf(pdf_file)
         if "error" in resume_text.lower():
             logger.error("Failed to extract text from PDF")
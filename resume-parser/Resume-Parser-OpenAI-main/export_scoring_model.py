@@ -0,0 +1,86 @@
+"""Export the resume scoring model for the Java scorer (ResumeScoringEngine).
+
+Writes models/scoring_model.json with the TF-IDF vocabulary and IDF weights, the
+vectorizer's analyzer settings, the preprocess_text settings used for skill
+suggestions, and a linear model over the TF-IDF features. A model without coefficients (the
+RandomForestClassifier from train_model.py) is distilled into a linear model by
+fitting ridge regression to its log-odds on the training data; the fit (R^2) is
+reported so a poor approximation is noticed before the file is shipped.
+
+Usage: python export_scoring_model.py [output_path]
+"""
+import json
+import os
+import sys
+
+import joblib
+import numpy as np
+import pandas as pd
+from nltk.corpus import stopwords
+from sklearn.linear_model import Ridge
+
+BASE_DIR = os.path.dirname(os.path.abspath(__file__))
+MODEL_PATH = os.path.join(BASE_DIR, "models", "model.pkl")
+VECTORIZER_PATH = os.path.join(BASE_DIR, "models", "vectorizer.pkl")
+TRAINING_DATA_PATH = os.path.join(BASE_DIR, "data", "resume_data.csv")
+OUTPUT_PATH = os.path.join(BASE_DIR, "models", "scoring_model.json")
+
+# Same filter as preprocess_text in app.py (len(token) > 2): shorter tokens are dropped,
+# tokens of this length and longer are kept
+MIN_TOKEN_LENGTH = 3
+
+
+def linear_model(model, vectorizer):
+    if hasattr(model, "coef_"):
+        return model.coef_[0], float(model.intercept_[0]), None
+
+    texts = pd.read_csv(TRAINING_DATA_PATH)["skills"].fillna("")
+    X = vectorizer.transform(texts)
+    p = np.clip(model.predict_proba(X)[:, 1], 1e-4, 1 - 1e-4)
+    log_odds = np.log(p / (1 - p))
+    surrogate = Ridge(alpha=1.0).fit(X, log_odds)
+    return surrogate.coef_, float(surrogate.intercept_), float(surrogate.score(X, log_odds))
+
+
+def main():
+    output_path = sys.argv[1] if len(sys.argv) > 1 else OUTPUT_PATH
+    model = joblib.load(MODEL_PATH)
+    vectorizer = joblib.load(VECTORIZER_PATH)
+
+    # The Java side reimplements only this configuration: the default word analyzer
+    # (its token_pattern and stop words are exported) and plain L2-normalized TF-IDF
+    if (vectorizer.analyzer != "word" or vectorizer.preprocessor is not None or vectorizer.tokenizer is not None
+            or vectorizer.strip_accents is not None or vectorizer.ngram_range != (1, 1)
+            or vectorizer.sublinear_tf or vectorizer.norm != "l2" or not vectorizer.use_idf):
+        raise ValueError("Unsupported vectorizer settings: %r" % vectorizer.get_params())
+    vectorizer_stop_words = vectorizer.get_stop_words()
+
+    coef, intercept, fidelity = linear_model(model, vectorizer)
+    export = {
+        "format": 2,
+        "vectorizer": {
+            "token_pattern": vectorizer.token_pattern,
+            "lowercase": bool(vectorizer.lowercase),
+            "stop_words": sorted(vectorizer_stop_words) if vectorizer_stop_words else [],
+        },
+        "preprocess": {
+            "stop_words": sorted(stopwords.words("english")),
+            "min_token_length": MIN_TOKEN_LENGTH,
+        },
+        "vocabulary": {term: int(index) for term, index in vectorizer.vocabulary_.items()},
+        "idf": [float(w) for w in vectorizer.idf_],
+        "coef": [float(c) for c in coef],
+        "intercept": intercept,
+        "source_model": type(model).__name__,
+        "distillation_r2": fidelity,
+    }
+    with open(output_path, "w", encoding="utf-8") as f:
+        json.dump(export, f)
+
+    print("Exported %d features from %s to %s" % (len(export["idf"]), export["source_model"], output_path))
+    if fidelity is not None:
+        print("Linear approximation R^2 on training data: %.3f" % fidelity)
+
+
+if __name__ == "__main__":
+    main()